@@ -0,0 +1,32 @@
+package com.minesweeper.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The BenchmarkMain class runs the JMH benchmarks with the allocation profiler always on, so that every result
+ * reports the bytes allocated per operation next to the time. All standard JMH command-line options are accepted,
+ * e.g. a benchmark name pattern or {@code -p config=HARD}.
+ */
+public class BenchmarkMain {
+    /**
+     * The main method which runs the selected benchmarks.
+     *
+     * @param args JMH command-line options.
+     * @throws Exception if the options are invalid or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        boolean profiled = commandLine.getProfilers().stream()
+                .anyMatch(profiler -> profiler.getKlass().equals(GCProfiler.class.getName())
+                        || profiler.getKlass().equals("gc"));
+        if (!profiled) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
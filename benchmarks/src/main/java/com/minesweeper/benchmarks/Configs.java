@@ -0,0 +1,29 @@
+package com.minesweeper.benchmarks;
+
+import com.minesweeper.model.GameConfig;
+import com.minesweeper.model.GameMode;
+
+/**
+ * The Configs class turns benchmark parameters into game configurations.
+ */
+final class Configs {
+    private Configs() {
+    }
+
+    /**
+     * Parses a game mode name such as {@code HARD}, or a custom size of the form {@code ROWSxCOLUMNS:MINES}.
+     * The mine count may be left out for an empty board.
+     *
+     * @param value The benchmark parameter.
+     * @return the configuration.
+     */
+    static GameConfig parse(String value) {
+        if (!Character.isDigit(value.charAt(0))) {
+            return GameConfig.of(GameMode.valueOf(value));
+        }
+        String[] sizeAndMines = value.split(":");
+        String[] size = sizeAndMines[0].split("x");
+        int mines = sizeAndMines.length > 1 ? Integer.parseInt(sizeAndMines[1]) : 0;
+        return GameConfig.custom(Integer.parseInt(size[0]), Integer.parseInt(size[1]), mines);
+    }
+}
@@ -0,0 +1,110 @@
+package com.minesweeper.benchmarks;
+
+import com.minesweeper.model.Cell;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameBenchmark class measures board generation and the win check.
+ * <ul>
+ *     <li>{@code construct}: a complete {@code new Game(config)} with its mines placed by {@code ensureMines},
+ *     i.e. initGame, placeMines and the counts;</li>
+ *     <li>{@code initAndPlaceMines}: initGame and placeMines on an existing game;</li>
+ *     <li>{@code setCounts}: a full recount of the adjacent mines;</li>
+ *     <li>{@code isWon}: the win check on a board whose safe cells are all revealed, which compares the
+ *     revealed safe cell counter of the board with the number of safe cells in constant time.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD", "1000x1000:150000"})
+    private String config;
+
+    private GameConfig gameConfig;
+    private Game game;
+    private Game wonGame;
+    private long seed;
+
+    /**
+     * Builds the games shared by all invocations.
+     */
+    @Setup
+    public void setUp() {
+        gameConfig = Configs.parse(config);
+        game = new Game(gameConfig.withSeed(42));
+        game.ensureMines();
+        wonGame = new Game(gameConfig.withSeed(42));
+        wonGame.ensureMines();
+        for (int row = 0; row < wonGame.getRows(); row++) {
+            for (int column = 0; column < wonGame.getColumns(); column++) {
+                Cell cell = wonGame.getCell(row, column);
+                if (!cell.isMine() && !cell.isRevealed()) {
+                    wonGame.revealCell(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a complete game with a new seed. The mines are placed right away instead of on the first reveal.
+     *
+     * @return the game.
+     */
+    @Benchmark
+    public Game construct() {
+        Game created = new Game(gameConfig.withSeed(seed++));
+        created.ensureMines();
+        return created;
+    }
+
+    /**
+     * Replaces the board of an existing game and places the mines again.
+     *
+     * @return the game.
+     */
+    @Benchmark
+    public Game initAndPlaceMines() {
+        game.initGame(gameConfig.getRows(), gameConfig.getColumns());
+        game.placeMines(gameConfig.getNumMines());
+        return game;
+    }
+
+    /**
+     * Recomputes the adjacent mine counts of the whole board.
+     *
+     * @return the game.
+     */
+    @Benchmark
+    public Game setCounts() {
+        game.setCounts();
+        return game;
+    }
+
+    /**
+     * Checks whether a fully solved board is won.
+     *
+     * @return the result of the check.
+     */
+    @Benchmark
+    public boolean isWon() {
+        return wonGame.isWon();
+    }
+}
@@ -0,0 +1,74 @@
+package com.minesweeper.benchmarks;
+
+import com.minesweeper.Player.Player;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PlayerBenchmark class measures one decision of the solver with {@link Player#step()}.
+ * Before each invocation a new game is opened on its center cell, where the mines are placed so that the cell
+ * has no adjacent mines, and the first decision, which
+ * builds the frontier, is made; the measured step is the second one, taken on a game that is still running.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD", "100x100:1600", "300x300:14400"})
+    private String config;
+
+    private GameConfig gameConfig;
+    private Player player;
+    private long seed;
+
+    /**
+     * Parses the configuration.
+     */
+    @Setup
+    public void setUp() {
+        gameConfig = Configs.parse(config);
+    }
+
+    /**
+     * Opens a new game and makes its first decision.
+     */
+    @Setup(Level.Invocation)
+    public void openGame() {
+        do {
+            Game game = new Game(gameConfig.withSeed(seed++));
+            game.revealCell(game.getCell(game.getRows() / 2, game.getColumns() / 2));
+            player = new Player(game);
+            player.step();
+            if (!player.getGame().GameOver() && !player.getGame().isWon()) {
+                return;
+            }
+        } while (true);
+    }
+
+    /**
+     * Makes one decision.
+     *
+     * @return whether a move was made.
+     */
+    @Benchmark
+    public boolean step() {
+        return player.step();
+    }
+}
@@ -0,0 +1,65 @@
+package com.minesweeper.benchmarks;
+
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RevealBenchmark class measures the flood fill in its worst case: a click into the corner of a board
+ * without mines, which reveals every cell. The board is replaced before each invocation, so the allocation
+ * reported per operation includes the one byte per cell of that fresh board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RevealBenchmark {
+    @Param({"100x100", "1000x1000", "4000x4000"})
+    private String config;
+
+    private GameConfig gameConfig;
+    private Game game;
+
+    /**
+     * Creates the game whose board is replaced before each invocation.
+     */
+    @Setup
+    public void setUp() {
+        gameConfig = Configs.parse(config);
+        game = new Game(gameConfig.withSeed(42));
+    }
+
+    /**
+     * Replaces the board with a fresh one without mines.
+     */
+    @Setup(Level.Invocation)
+    public void resetBoard() {
+        game.initGame(gameConfig.getRows(), gameConfig.getColumns());
+    }
+
+    /**
+     * Reveals the whole board from its corner.
+     *
+     * @return the number of revealed cells.
+     */
+    @Benchmark
+    public int revealZeroBoard() {
+        game.revealCell(game.getCell(0, 0));
+        return game.getNewlyRevealedCount();
+    }
+}
@@ -0,0 +1,304 @@
+package com.minesweeper;
+
+import com.minesweeper.Player.Player;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+import com.minesweeper.model.GameMode;
+import com.minesweeper.model.MoveJournal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The BatchRunner class is a headless entry point that lets the solver play many games without a user interface.
+ * Games are spread over worker threads; every worker owns its {@link Game} and {@link Player} instances and
+ * derives the seeds of its games from its own random number generator, so a run is reproducible from its seed.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp ... com.minesweeper.BatchRunner [--mode EASY|MEDIUM|HARD|ALL] [--custom ROWSxCOLUMNS:MINES]
+ *     [--games N] [--threads T] [--seed S] [--out FILE] [--journal DIRECTORY]
+ * </pre>
+ * For every configuration the runner prints the win rate, the throughput and the latency percentiles of a game.
+ * With {@code --out}, one fixed-size record per game is streamed to the file: the configuration number (byte),
+ * the game seed (long), the duration in microseconds (int) and whether the game was won (byte).
+ * With {@code --journal}, the moves of every lost game are saved to the directory as a {@link MoveJournal}
+ * named {@code lost-<configuration>-<seed>.mswj}, ready to be replayed.
+ */
+public class BatchRunner {
+    private static final String USAGE = "Usage: java -cp ... com.minesweeper.BatchRunner"
+            + " [--mode EASY|MEDIUM|HARD|ALL] [--custom ROWSxCOLUMNS:MINES]\n"
+            + "    [--games N] [--threads T] [--seed S] [--out FILE] [--journal DIRECTORY]";
+
+    private final List<GameConfig> configs;
+    private final int games;
+    private final int threads;
+    private final long seed;
+    private final DataOutputStream out;
+    private Path journalDirectory;
+
+    /**
+     * Constructs a new BatchRunner.
+     *
+     * @param configs The configurations to play.
+     * @param games   The number of games to play per configuration.
+     * @param threads The number of worker threads.
+     * @param seed    The seed from which the seeds of all games are derived.
+     * @param out     The stream the per-game records are written to, or null to skip them.
+     */
+    public BatchRunner(List<GameConfig> configs, int games, int threads, long seed, DataOutputStream out) {
+        this.configs = configs;
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+        this.out = out;
+    }
+
+    /**
+     * Sets the directory the move journals of lost games are saved to.
+     *
+     * @param journalDirectory The directory, or null to not record the moves.
+     */
+    public void setJournalDirectory(Path journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * The main method which parses the command-line arguments and runs the batch.
+     *
+     * @param args Command-line arguments, see the class documentation.
+     * @throws Exception if the output file cannot be written or a worker fails.
+     */
+    public static void main(String[] args) throws Exception {
+        List<GameConfig> configs = new ArrayList<>();
+        int games = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String outFile = null;
+        Path journalDirectory = null;
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--mode":
+                        if ("ALL".equalsIgnoreCase(value)) {
+                            configs.addAll(Arrays.asList(GameConfig.of(GameMode.EASY),
+                                    GameConfig.of(GameMode.MEDIUM), GameConfig.of(GameMode.HARD)));
+                        } else {
+                            configs.add(GameConfig.of(parseMode(value)));
+                        }
+                        break;
+                    case "--custom":
+                        configs.add(parseCustom(value));
+                        break;
+                    case "--games":
+                        games = parsePositive(args[i], value);
+                        break;
+                    case "--threads":
+                        threads = parsePositive(args[i], value);
+                        break;
+                    case "--seed":
+                        try {
+                            seed = Long.parseLong(value);
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid value for --seed: " + value, e);
+                        }
+                        break;
+                    case "--out":
+                        outFile = value;
+                        break;
+                    case "--journal":
+                        journalDirectory = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (configs.isEmpty()) {
+            configs.add(GameConfig.of(GameMode.HARD));
+        }
+
+        DataOutputStream out = outFile == null ? null
+                : new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outFile), 1 << 16));
+        try {
+            System.out.println("Seed " + seed + ", " + threads + " threads, " + games + " games per configuration");
+            BatchRunner runner = new BatchRunner(configs, games, threads, seed, out);
+            if (journalDirectory != null) {
+                Files.createDirectories(journalDirectory);
+                runner.setJournalDirectory(journalDirectory);
+            }
+            runner.run();
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Parses the value of the --mode option, other than ALL.
+     */
+    private static GameMode parseMode(String value) {
+        try {
+            return GameMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for --mode: " + value, e);
+        }
+    }
+
+    /**
+     * Parses the positive integer value of the specified option.
+     */
+    private static int parsePositive(String option, String value) {
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + option + ": " + value, e);
+        }
+        if (number <= 0) {
+            throw new IllegalArgumentException(option + " must be positive: " + value);
+        }
+        return number;
+    }
+
+    /**
+     * Parses a custom configuration of the form {@code ROWSxCOLUMNS:MINES}.
+     */
+    private static GameConfig parseCustom(String value) {
+        String[] sizeAndMines = value.split(":");
+        String[] size = sizeAndMines[0].toLowerCase().split("x");
+        try {
+            if (sizeAndMines.length == 2 && size.length == 2) {
+                return GameConfig.custom(Integer.parseInt(size[0]), Integer.parseInt(size[1]),
+                        Integer.parseInt(sizeAndMines[1]));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid value for --custom, expected ROWSxCOLUMNS:MINES: " + value);
+    }
+
+    /**
+     * Plays all games of every configuration and prints a summary line per configuration.
+     *
+     * @throws Exception if a worker fails.
+     */
+    public void run() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom master = new SplittableRandom(seed);
+            for (int c = 0; c < configs.size(); c++) {
+                GameConfig config = configs.get(c);
+                List<Future<long[]>> results = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int t = 0; t < threads; t++) {
+                    int share = games / threads + (t < games % threads ? 1 : 0);
+                    SplittableRandom random = master.split();
+                    int configNumber = c;
+                    results.add(executor.submit(() -> playGames(configNumber, config, share, random)));
+                }
+
+                // Each worker returns its durations in nanoseconds, with won games encoded as negative values
+                long[] durations = new long[games];
+                int played = 0;
+                int won = 0;
+                for (Future<long[]> result : results) {
+                    for (long duration : result.get()) {
+                        if (duration < 0) {
+                            won++;
+                            duration = -duration;
+                        }
+                        durations[played++] = duration;
+                    }
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                Arrays.sort(durations);
+                System.out.printf("%s: won %d/%d (%.2f%%), %.1f games/s, latency p50 %.3f ms, p90 %.3f ms, "
+                        + "p99 %.3f ms, max %.3f ms%n", config, won, played, 100.0 * won / Math.max(played, 1),
+                        played / seconds, percentile(durations, 0.50), percentile(durations, 0.90),
+                        percentile(durations, 0.99), percentile(durations, 1.0));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Plays the given number of games on the calling worker thread.
+     *
+     * @return the duration of every game in nanoseconds, negated for won games.
+     */
+    private long[] playGames(int configNumber, GameConfig config, int count, SplittableRandom random)
+            throws IOException {
+        long[] durations = new long[count];
+        ByteArrayOutputStream journalBytes = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            long gameSeed = random.nextLong();
+            long start = System.nanoTime();
+            Game game = new Game(config.withSeed(gameSeed));
+            MoveJournal journal = null;
+            if (journalDirectory != null) {
+                journalBytes.reset();
+                journal = new MoveJournal(journalBytes, game);
+                game.setJournal(journal);
+            }
+            new Player(game).play();
+            long duration = Math.max(System.nanoTime() - start, 1);
+            boolean won = game.isWon();
+            if (journal != null && !won) {
+                journal.flush();
+                Files.write(journalDirectory.resolve("lost-" + configNumber + "-" + gameSeed + ".mswj"),
+                        journalBytes.toByteArray());
+            }
+            durations[i] = won ? -duration : duration;
+            if (out != null) {
+                writeRecord(configNumber, gameSeed, duration, won);
+            }
+        }
+        return durations;
+    }
+
+    private void writeRecord(int configNumber, long gameSeed, long duration, boolean won) throws IOException {
+        synchronized (out) {
+            out.writeByte(configNumber);
+            out.writeLong(gameSeed);
+            out.writeInt((int) Math.min(duration / 1000, Integer.MAX_VALUE));
+            out.writeByte(won ? 1 : 0);
+        }
+    }
+
+    /**
+     * Returns the percentile of the sorted durations in milliseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,197 @@
+package com.minesweeper.Player;
+
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The BoardPool class keeps a bounded number of ready no-guess boards per configuration, so that a new game
+ * can start without waiting for the {@link NoGuessGenerator}.
+ * <p>
+ * The pooled games are not opened yet, so that their moves can be recorded from the start: a game is started by
+ * revealing its opening, {@link NoGuessGenerator#getOpening(Game)}, which places the mines.
+ * <p>
+ * Taking a board never blocks: {@link #poll(GameConfig)} returns a ready board if there is one, and starts
+ * refilling the pool of the configuration in the background. The pool is refilled by up to one worker per
+ * core, each trying its own candidates, on low priority daemon threads. Configurations with more than
+ * {@link #MAX_POOLED_CELLS} cells are not pooled, and a configuration for which the generator gives up is
+ * not tried again.
+ * <p>
+ * Configurations are told apart by their mode, size and number of mines; their seeds are ignored.
+ */
+public final class BoardPool {
+    /**
+     * The default number of ready boards kept per configuration.
+     */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * The largest number of cells of a pooled configuration, the size of the largest standard board.
+     */
+    public static final int MAX_POOLED_CELLS = 16 * 30;
+
+    private static final class DefaultHolder {
+        private static final BoardPool POOL = new BoardPool(DEFAULT_CAPACITY,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The ready boards of one configuration and the workers refilling them.
+     */
+    private static final class Entry {
+        private final NoGuessGenerator generator;
+        private final BlockingQueue<Game> boards;
+        private final AtomicInteger workers = new AtomicInteger();
+        private volatile boolean exhausted;
+
+        private Entry(GameConfig config, int capacity) {
+            this.generator = new NoGuessGenerator(config);
+            this.boards = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private final int capacity;
+    private final int maxWorkers;
+    private final ExecutorService executor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new BoardPool.
+     *
+     * @param capacity   The number of ready boards kept per configuration.
+     * @param maxWorkers The largest number of workers refilling the pool of one configuration at the same time.
+     */
+    public BoardPool(int capacity, int maxWorkers) {
+        this.capacity = capacity;
+        this.maxWorkers = maxWorkers;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "board-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the pool shared by the application, with {@link #DEFAULT_CAPACITY} boards per configuration and
+     * one worker per core.
+     *
+     * @return the shared pool.
+     */
+    public static BoardPool getDefault() {
+        return DefaultHolder.POOL;
+    }
+
+    /**
+     * Checks if boards of the specified configuration are pooled.
+     *
+     * @param config The configuration of the boards.
+     * @return true if the configuration has at most {@link #MAX_POOLED_CELLS} cells.
+     */
+    public static boolean supports(GameConfig config) {
+        return (long) config.getRows() * config.getColumns() <= MAX_POOLED_CELLS;
+    }
+
+    /**
+     * Takes a ready board of the specified configuration, without waiting, and refills the pool in the background.
+     *
+     * @param config The configuration of the board.
+     * @return a new game that can be solved without guessing once its opening is revealed, or null if no board
+     *         is ready or the configuration is not pooled.
+     */
+    public Game poll(GameConfig config) {
+        Entry entry = entry(config);
+        if (entry == null) {
+            return null;
+        }
+        Game game = entry.boards.poll();
+        refill(entry);
+        return game;
+    }
+
+    /**
+     * Starts filling the pool of the specified configuration in the background, if it is not full.
+     *
+     * @param config The configuration of the boards.
+     */
+    public void refill(GameConfig config) {
+        Entry entry = entry(config);
+        if (entry != null) {
+            refill(entry);
+        }
+    }
+
+    /**
+     * Returns the number of ready boards of the specified configuration.
+     *
+     * @param config The configuration of the boards.
+     * @return the number of ready boards.
+     */
+    public int size(GameConfig config) {
+        Entry entry = entries.get(key(config));
+        return entry == null ? 0 : entry.boards.size();
+    }
+
+    /**
+     * Stops the workers. Boards that are being generated are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Entry entry(GameConfig config) {
+        if (!supports(config)) {
+            return null;
+        }
+        Entry entry = entries.computeIfAbsent(key(config), key -> new Entry(config, capacity));
+        return entry.exhausted ? null : entry;
+    }
+
+    private static String key(GameConfig config) {
+        return config.toString();
+    }
+
+    /**
+     * Starts workers until the entry has as many workers as allowed or as boards missing.
+     */
+    private void refill(Entry entry) {
+        while (!entry.exhausted && !executor.isShutdown()) {
+            int workers = entry.workers.get();
+            if (workers >= Math.min(maxWorkers, entry.boards.remainingCapacity())) {
+                return;
+            }
+            if (entry.workers.compareAndSet(workers, workers + 1)) {
+                executor.execute(() -> fill(entry));
+            }
+        }
+    }
+
+    /**
+     * Generates boards on the calling worker until the pool of the entry is full.
+     */
+    private void fill(Entry entry) {
+        SplittableRandom random = new SplittableRandom();
+        try {
+            while (!entry.exhausted && entry.boards.remainingCapacity() > 0
+                    && !Thread.currentThread().isInterrupted()) {
+                OptionalLong seed = entry.generator.nextSeed(random);
+                if (!seed.isPresent()) {
+                    entry.exhausted = true;
+                } else if (!entry.boards.offer(new Game(entry.generator.getConfig().withSeed(seed.getAsLong())))) {
+                    return;
+                }
+            }
+        } finally {
+            entry.workers.decrementAndGet();
+        }
+    }
+}
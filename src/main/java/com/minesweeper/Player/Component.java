@@ -0,0 +1,76 @@
+package com.minesweeper.Player;
+
+import java.util.Arrays;
+
+/**
+ * The Component class is one independent part of the frontier constraint problem.
+ * It holds a set of frontier cells and the revealed numbers that constrain them; no number of one
+ * component touches a cell of another, so every component can be solved on its own.
+ * Cells are referred to by their position in {@link #cells}, constraints by their position in
+ * {@link #targets}.
+ * <p>
+ * Two components are equal if they have the same cells, numbers and targets; the constraints follow from
+ * these, so equal components have exactly the same solutions. This lets results be cached across moves
+ * for the parts of the frontier a move did not touch.
+ */
+final class Component {
+    /**
+     * The flat indices of the unknown cells of the component, in ascending order.
+     */
+    final int[] cells;
+    /**
+     * The flat index of the revealed number behind each constraint.
+     */
+    final int[] constraintCells;
+    /**
+     * For each constraint, the positions in {@link #cells} of its unknown neighbors.
+     */
+    final int[][] constraints;
+    /**
+     * For each constraint, the number of mines among its unknown neighbors.
+     */
+    final int[] targets;
+
+    /**
+     * Constructs a new Component.
+     *
+     * @param cells           The flat indices of the unknown cells, in ascending order.
+     * @param constraintCells The flat index of the number behind each constraint.
+     * @param constraints     The positions of the unknown neighbors of each constraint.
+     * @param targets         The number of mines among the unknown neighbors of each constraint.
+     */
+    Component(int[] cells, int[] constraintCells, int[][] constraints, int[] targets) {
+        this.cells = cells;
+        this.constraintCells = constraintCells;
+        this.constraints = constraints;
+        this.targets = targets;
+    }
+
+    /**
+     * Returns the number of unknown cells in the component.
+     *
+     * @return the number of cells.
+     */
+    int size() {
+        return cells.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Component)) {
+            return false;
+        }
+        Component other = (Component) o;
+        return Arrays.equals(cells, other.cells)
+                && Arrays.equals(constraintCells, other.constraintCells)
+                && Arrays.equals(targets, other.targets);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(cells) + Arrays.hashCode(constraintCells)) + Arrays.hashCode(targets);
+    }
+}
@@ -0,0 +1,133 @@
+package com.minesweeper.Player;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.BoolVar;
+
+import java.util.Arrays;
+
+/**
+ * The ComponentSolver class solves a single frontier {@link Component} with its own Choco model.
+ * The model has one boolean variable per unknown cell of the component, one sum constraint per revealed
+ * number, and a bound on the total number of mines in the component that is derived from the global
+ * mine count.
+ * <p>
+ * The solver only reports the backbone of the component: the cells that take the same value in every
+ * solution. Acting on these cells is always sound, unlike acting on an arbitrary solution.
+ */
+final class ComponentSolver {
+    /**
+     * The cell holds no mine in any solution.
+     */
+    static final byte SAFE = 0;
+    /**
+     * The cell holds a mine in every solution.
+     */
+    static final byte MINE = 1;
+    /**
+     * The cell is not known to take the same value in every solution.
+     */
+    static final byte UNDECIDED = -1;
+
+    private final Component component;
+    private final Model model;
+    private final BoolVar[] cellVars;
+    private boolean stopped;
+
+    /**
+     * Constructs the CSP model of the specified component.
+     *
+     * @param component The component to be solved.
+     * @param minMines  The least number of mines the component can hold.
+     * @param maxMines  The largest number of mines the component can hold.
+     */
+    ComponentSolver(Component component, int minMines, int maxMines) {
+        this.component = component;
+        this.model = new Model("component_" + component.cells[0]);
+        this.cellVars = model.boolVarArray("cell", component.size());
+
+        for (int i = 0; i < component.targets.length; i++) {
+            int[] members = component.constraints[i];
+            BoolVar[] surroundingCells = new BoolVar[members.length];
+            for (int j = 0; j < members.length; j++) {
+                surroundingCells[j] = cellVars[members[j]];
+            }
+            model.sum(surroundingCells, "=", component.targets[i]).post();
+        }
+        model.sum(cellVars, ">=", minMines).post();
+        model.sum(cellVars, "<=", maxMines).post();
+    }
+
+    /**
+     * Finds the backbone of the component within the given deadline.
+     * <p>
+     * A first solution gives the only value each cell can be fixed to. Every cell that still may be fixed is
+     * then refuted: the solver looks for a solution in which the cell takes the other value. If there is none,
+     * the cell belongs to the backbone; if there is one, that solution also rules out every other cell whose
+     * value differs from the first solution, which saves their refutation checks.
+     * Cells whose check does not finish before the deadline are reported as undecided.
+     * <p>
+     * Resetting the solver between two searches removes its stop criteria, so the deadline is installed again
+     * before every search, and whether a search was stopped is read before the solver is reset.
+     *
+     * @param deadline The value of {@link System#nanoTime()} after which the search stops.
+     * @return for each cell of the component, {@link #SAFE}, {@link #MINE} or {@link #UNDECIDED},
+     *         or null if the component has no solution or none was found in time.
+     */
+    byte[] findBackbone(long deadline) {
+        Solver solver = model.getSolver();
+        byte[] first = findSolution(solver, deadline);
+        if (first == null) {
+            return null;
+        }
+        byte[] backbone = new byte[cellVars.length];
+        Arrays.fill(backbone, UNDECIDED);
+        boolean[] candidate = new boolean[cellVars.length];
+        Arrays.fill(candidate, true);
+
+        for (int i = 0; i < cellVars.length && System.nanoTime() <= deadline; i++) {
+            if (!candidate[i]) {
+                continue;
+            }
+            Constraint refutation = model.arithm(cellVars[i], "!=", first[i]);
+            refutation.post();
+            byte[] other = findSolution(solver, deadline);
+            model.unpost(refutation);
+
+            if (other == null) {
+                if (!stopped) {
+                    backbone[i] = first[i];
+                }
+                continue;
+            }
+            for (int j = i; j < cellVars.length; j++) {
+                if (other[j] != first[j]) {
+                    candidate[j] = false;
+                }
+            }
+        }
+        return backbone;
+    }
+
+    /**
+     * Runs the solver once, stopping it at the deadline, and resets it, so that constraints can be posted or
+     * removed afterwards. Records in {@link #stopped} whether the search was stopped before it finished.
+     *
+     * @param deadline The value of {@link System#nanoTime()} after which the search stops.
+     * @return the value of each cell in the solution found, or null if there is none or the search was stopped.
+     */
+    private byte[] findSolution(Solver solver, long deadline) {
+        solver.addStopCriterion(() -> System.nanoTime() > deadline);
+        byte[] solution = null;
+        if (solver.solve()) {
+            solution = new byte[cellVars.length];
+            for (int i = 0; i < cellVars.length; i++) {
+                solution[i] = (byte) cellVars[i].getValue();
+            }
+        }
+        stopped = solution == null && solver.isStopCriterionMet();
+        solver.reset();
+        return solution;
+    }
+}
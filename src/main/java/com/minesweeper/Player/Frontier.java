@@ -0,0 +1,379 @@
+package com.minesweeper.Player;
+
+import com.minesweeper.model.Game;
+import com.minesweeper.model.Neighborhood;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Frontier class tracks the boundary between the revealed and the unknown part of the board.
+ * A cell is unknown if it is neither revealed nor flagged. The frontier consists of the revealed numbers
+ * that still border unknown cells, and of those unknown cells; all other unknown cells form the interior,
+ * about which the numbers say nothing.
+ * <p>
+ * The frontier is maintained incrementally: after a move only the changed cells and their neighbors are
+ * visited, so the cost of an update does not depend on the size of the board. The state of a cell is read
+ * through the index accessors of the game, which allocate nothing.
+ * <p>
+ * Interior cells are found with a cursor below which no cell is interior. Revealed cells stay revealed, so
+ * the cursor only moves back when a flag is removed, and finding interior cells costs one pass over the
+ * board for a whole game instead of one pass per guess.
+ */
+final class Frontier {
+    private static final byte UNKNOWN = 0;
+    private static final byte REVEALED = 1;
+    private static final byte FLAGGED = 2;
+
+    private final Game game;
+    private final int rows;
+    private final int columns;
+    private final Neighborhood neighborhood;
+    private final int[] updatedNeighbors = new int[Neighborhood.MAX_NEIGHBORS];
+    private final int[] cellNeighbors = new int[Neighborhood.MAX_NEIGHBORS];
+    private final byte[] state;
+    private final boolean[] active;
+    private int[] activeList = new int[64];
+    private int activeCount;
+    private int unknownCount;
+    private int flaggedCount;
+    private int interiorCursor;
+
+    /**
+     * Constructs a new Frontier of the specified game and scans the board once.
+     *
+     * @param game The game whose board is tracked.
+     */
+    Frontier(Game game) {
+        this.game = game;
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        this.neighborhood = game.getNeighborhood();
+        this.state = new byte[rows * columns];
+        this.active = new boolean[rows * columns];
+        this.unknownCount = rows * columns;
+        for (int index = 0; index < state.length; index++) {
+            update(index);
+        }
+    }
+
+    /**
+     * Updates the frontier after the cell at the specified index was revealed, flagged or unflagged.
+     *
+     * @param index The flat index of the changed cell.
+     */
+    void update(int index) {
+        byte newState = readState(index);
+        byte oldState = state[index];
+        if (newState == oldState) {
+            return;
+        }
+        state[index] = newState;
+        if (newState == UNKNOWN) {
+            interiorCursor = Math.min(interiorCursor, index);
+        } else if (oldState == REVEALED) {
+            interiorCursor = Math.min(interiorCursor, Math.max(index - columns - 1, 0));
+        }
+        if (oldState == UNKNOWN) {
+            unknownCount--;
+        } else if (newState == UNKNOWN) {
+            unknownCount++;
+        }
+        if (oldState == FLAGGED) {
+            flaggedCount--;
+        } else if (newState == FLAGGED) {
+            flaggedCount++;
+        }
+
+        if (newState == REVEALED) {
+            refresh(index);
+        } else {
+            active[index] = false;
+        }
+        int count = neighborhood.neighbors(index, updatedNeighbors);
+        for (int i = 0; i < count; i++) {
+            int neighbor = updatedNeighbors[i];
+            if (state[neighbor] == REVEALED) {
+                refresh(neighbor);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cells of the board.
+     *
+     * @return the number of cells.
+     */
+    int size() {
+        return state.length;
+    }
+
+    /**
+     * Returns the number of unknown cells, both on the frontier and in the interior.
+     *
+     * @return the number of unknown cells.
+     */
+    int getUnknownCount() {
+        return unknownCount;
+    }
+
+    /**
+     * Returns the number of mines that are not flagged yet.
+     *
+     * @return the number of mines left.
+     */
+    int getMinesLeft() {
+        return game.getNumMines() - flaggedCount;
+    }
+
+    /**
+     * Checks if the cell at the specified index is unknown.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is neither revealed nor flagged.
+     */
+    boolean isUnknown(int index) {
+        return state[index] == UNKNOWN;
+    }
+
+    /**
+     * Checks if the cell at the specified index is revealed.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is revealed.
+     */
+    boolean isRevealed(int index) {
+        return state[index] == REVEALED;
+    }
+
+    /**
+     * Checks if the cell at the specified index is flagged.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is flagged.
+     */
+    boolean isFlagged(int index) {
+        return state[index] == FLAGGED;
+    }
+
+    /**
+     * Returns an unknown cell that borders no revealed number, if there is one.
+     *
+     * @return the flat index of the first interior cell, or -1 if every unknown cell is on the frontier.
+     */
+    int findInteriorCell() {
+        while (interiorCursor < state.length
+                && (state[interiorCursor] != UNKNOWN || hasRevealedNeighbor(interiorCursor))) {
+            interiorCursor++;
+        }
+        return interiorCursor < state.length ? interiorCursor : -1;
+    }
+
+    /**
+     * Splits the frontier into independent components. Two unknown cells belong to the same component
+     * if a chain of revealed numbers connects them.
+     *
+     * @return the components of the frontier.
+     */
+    List<Component> components() {
+        compactActive();
+
+        // Collect the distinct frontier cells and give each a dense id
+        int[] frontier = new int[activeCount * 8];
+        int size = 0;
+        for (int i = 0; i < activeCount; i++) {
+            size = collectUnknownNeighbors(activeList[i], frontier, size);
+        }
+        Arrays.sort(frontier, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || frontier[distinct - 1] != frontier[i]) {
+                frontier[distinct++] = frontier[i];
+            }
+        }
+
+        // Union all unknown neighbors of every number
+        int[] parent = new int[distinct];
+        for (int i = 0; i < distinct; i++) {
+            parent[i] = i;
+        }
+        int[] neighbors = new int[8];
+        for (int i = 0; i < activeCount; i++) {
+            int count = collectUnknownNeighbors(activeList[i], neighbors, 0);
+            int first = Arrays.binarySearch(frontier, 0, distinct, neighbors[0]);
+            for (int j = 1; j < count; j++) {
+                union(parent, first, Arrays.binarySearch(frontier, 0, distinct, neighbors[j]));
+            }
+        }
+
+        // Number the components and the position of each cell within its component
+        int[] componentOf = new int[distinct];
+        int[] position = new int[distinct];
+        int[] componentSize = new int[distinct];
+        int[] rootComponent = new int[distinct];
+        Arrays.fill(rootComponent, -1);
+        int componentCount = 0;
+        for (int i = 0; i < distinct; i++) {
+            int root = find(parent, i);
+            if (rootComponent[root] < 0) {
+                rootComponent[root] = componentCount++;
+            }
+            componentOf[i] = rootComponent[root];
+            position[i] = componentSize[componentOf[i]]++;
+        }
+
+        int[][] cells = new int[componentCount][];
+        for (int c = 0; c < componentCount; c++) {
+            cells[c] = new int[componentSize[c]];
+        }
+        for (int i = 0; i < distinct; i++) {
+            cells[componentOf[i]][position[i]] = frontier[i];
+        }
+
+        int[] constraintCounts = new int[componentCount];
+        int[] constraintComponent = new int[activeCount];
+        for (int i = 0; i < activeCount; i++) {
+            collectUnknownNeighbors(activeList[i], neighbors, 0);
+            constraintComponent[i] = componentOf[Arrays.binarySearch(frontier, 0, distinct, neighbors[0])];
+            constraintCounts[constraintComponent[i]]++;
+        }
+        int[][] constraintCells = new int[componentCount][];
+        int[][][] constraints = new int[componentCount][][];
+        int[][] targets = new int[componentCount][];
+        for (int c = 0; c < componentCount; c++) {
+            constraintCells[c] = new int[constraintCounts[c]];
+            constraints[c] = new int[constraintCounts[c]][];
+            targets[c] = new int[constraintCounts[c]];
+            constraintCounts[c] = 0;
+        }
+        for (int i = 0; i < activeCount; i++) {
+            int numberCell = activeList[i];
+            int c = constraintComponent[i];
+            int count = collectUnknownNeighbors(numberCell, neighbors, 0);
+            int[] members = new int[count];
+            for (int j = 0; j < count; j++) {
+                members[j] = position[Arrays.binarySearch(frontier, 0, distinct, neighbors[j])];
+            }
+            int k = constraintCounts[c]++;
+            constraintCells[c][k] = numberCell;
+            constraints[c][k] = members;
+            targets[c][k] = game.getAdjacentMines(numberCell) - countFlaggedNeighbors(numberCell);
+        }
+
+        List<Component> components = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            components.add(new Component(cells[c], constraintCells[c], constraints[c], targets[c]));
+        }
+        return components;
+    }
+
+    /**
+     * Reads the current state of the cell at the specified index from the game.
+     */
+    private byte readState(int index) {
+        if (game.isRevealed(index)) {
+            return REVEALED;
+        }
+        return game.isFlagged(index) ? FLAGGED : UNKNOWN;
+    }
+
+    /**
+     * Re-evaluates whether the revealed cell at the specified index borders unknown cells,
+     * and adds it to the list of active numbers if it just became active.
+     */
+    private void refresh(int index) {
+        boolean wasActive = active[index];
+        active[index] = hasUnknownNeighbor(index);
+        if (active[index] && !wasActive) {
+            if (activeCount == activeList.length) {
+                activeList = Arrays.copyOf(activeList, activeCount * 2);
+            }
+            activeList[activeCount++] = index;
+        }
+    }
+
+    /**
+     * Removes inactive and duplicate entries from the list of active numbers and sorts it, so that
+     * the constraints of a component always come in the same order.
+     */
+    private void compactActive() {
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int index = activeList[i];
+            if (active[index]) {
+                // Temporarily clear the flag so that duplicates are skipped
+                active[index] = false;
+                activeList[kept++] = index;
+            }
+        }
+        activeCount = kept;
+        for (int i = 0; i < activeCount; i++) {
+            active[activeList[i]] = true;
+        }
+        Arrays.sort(activeList, 0, activeCount);
+    }
+
+    private boolean hasUnknownNeighbor(int index) {
+        int count = neighborhood.neighbors(index, cellNeighbors);
+        for (int i = 0; i < count; i++) {
+            if (state[cellNeighbors[i]] == UNKNOWN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasRevealedNeighbor(int index) {
+        int count = neighborhood.neighbors(index, cellNeighbors);
+        for (int i = 0; i < count; i++) {
+            if (state[cellNeighbors[i]] == REVEALED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int countFlaggedNeighbors(int index) {
+        int count = neighborhood.neighbors(index, cellNeighbors);
+        int flagged = 0;
+        for (int i = 0; i < count; i++) {
+            if (state[cellNeighbors[i]] == FLAGGED) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    /**
+     * Appends the unknown neighbors of the cell at the specified index to the given array.
+     *
+     * @return the new number of elements in the array.
+     */
+    private int collectUnknownNeighbors(int index, int[] out, int size) {
+        int count = neighborhood.neighbors(index, cellNeighbors);
+        for (int i = 0; i < count; i++) {
+            int neighbor = cellNeighbors[i];
+            if (state[neighbor] == UNKNOWN) {
+                out[size++] = neighbor;
+            }
+        }
+        return size;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootA] = rootB;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.minesweeper.Player;
+
+import com.minesweeper.model.Cell;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+
+/**
+ * The NoGuessGenerator class generates boards that can be solved by logic alone.
+ * <p>
+ * Every board starts with the reveal of a fixed opening, the center cell, which places the mines away from it.
+ * A candidate board is accepted if a {@link Player} that never guesses wins it from that opening, using the
+ * same rules and component solver as in a normal game, within a time budget per move. A board is fully
+ * determined by its configuration, its seed and the opening, so only the seed of an accepted candidate is kept
+ * and the game is rebuilt from it.
+ * <p>
+ * A generator has no mutable state; several threads can generate candidates with the same generator, each
+ * with its own random number generator.
+ */
+public final class NoGuessGenerator {
+    /**
+     * The default number of candidates tried before giving up on a configuration.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 10_000;
+
+    /**
+     * The default time the player may spend on deciding one move of a candidate, in milliseconds. The solver
+     * stops at the end of the budget and leaves the cells it could not decide alone, so the player gets stuck
+     * and the candidate is rejected: a hard board costs at most one budget per move instead of stalling a
+     * {@link BoardPool} worker.
+     */
+    public static final long DEFAULT_MOVE_BUDGET_MILLIS = 100;
+
+    private final GameConfig config;
+    private final int maxAttempts;
+    private final long moveBudgetMillis;
+
+    /**
+     * Constructs a new NoGuessGenerator for the specified configuration, trying at most
+     * {@link #DEFAULT_MAX_ATTEMPTS} candidates per board with a budget of {@link #DEFAULT_MOVE_BUDGET_MILLIS}
+     * per move.
+     *
+     * @param config The configuration of the boards, whose seed is ignored.
+     */
+    public NoGuessGenerator(GameConfig config) {
+        this(config, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructs a new NoGuessGenerator for the specified configuration.
+     *
+     * @param config      The configuration of the boards, whose seed is ignored.
+     * @param maxAttempts The number of candidates tried before {@link #generate(SplittableRandom)} gives up.
+     */
+    public NoGuessGenerator(GameConfig config, int maxAttempts) {
+        this(config, maxAttempts, DEFAULT_MOVE_BUDGET_MILLIS);
+    }
+
+    /**
+     * Constructs a new NoGuessGenerator for the specified configuration.
+     *
+     * @param config           The configuration of the boards, whose seed is ignored.
+     * @param maxAttempts      The number of candidates tried before {@link #generate(SplittableRandom)} gives up.
+     * @param moveBudgetMillis The time the player may spend on deciding one move of a candidate, in milliseconds.
+     */
+    public NoGuessGenerator(GameConfig config, int maxAttempts, long moveBudgetMillis) {
+        this.config = config;
+        this.maxAttempts = maxAttempts;
+        this.moveBudgetMillis = moveBudgetMillis;
+    }
+
+    /**
+     * Returns the configuration of the generated boards.
+     *
+     * @return the configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the row of the opening revealed on every board.
+     *
+     * @return the row of the opening.
+     */
+    public int getOpeningRow() {
+        return config.getRows() / 2;
+    }
+
+    /**
+     * Returns the column of the opening revealed on every board.
+     *
+     * @return the column of the opening.
+     */
+    public int getOpeningColumn() {
+        return config.getColumns() / 2;
+    }
+
+    /**
+     * Generates a board that can be solved without guessing.
+     *
+     * @param random The random number generator the seeds of the candidates are drawn from.
+     * @return a new game with the opening revealed, or null if no candidate was accepted within the maximum
+     *         number of attempts.
+     */
+    public Game generate(SplittableRandom random) {
+        OptionalLong seed = nextSeed(random);
+        return seed.isPresent() ? newGame(seed.getAsLong()) : null;
+    }
+
+    /**
+     * Finds the seed of a board that can be solved without guessing. The game with this seed must be started by
+     * revealing its opening, see {@link #getOpening(Game)}.
+     *
+     * @param random The random number generator the seeds of the candidates are drawn from.
+     * @return the seed, or an empty value if no candidate was accepted within the maximum number of attempts.
+     */
+    public OptionalLong nextSeed(SplittableRandom random) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            long seed = random.nextLong();
+            if (isSolvableWithoutGuessing(seed)) {
+                return OptionalLong.of(seed);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns the opening of the specified game, the center cell, whose reveal places the mines of a generated
+     * board.
+     *
+     * @param game The game.
+     * @return the cell of the opening.
+     */
+    public static Cell getOpening(Game game) {
+        return game.getCell(game.getRows() / 2, game.getColumns() / 2);
+    }
+
+    /**
+     * Checks if the board with the specified seed can be won from the opening without guessing.
+     *
+     * @param seed The seed of the board.
+     * @return true if a player that never guesses wins the board, deciding every move within the budget.
+     */
+    public boolean isSolvableWithoutGuessing(long seed) {
+        Game game = newGame(seed);
+        Player player = new Player(game);
+        player.setGuessing(false);
+        player.setMoveBudget(moveBudgetMillis);
+        while (player.step()) {
+            // Keep deducing until the board is won or the player is stuck
+        }
+        return game.isWon();
+    }
+
+    /**
+     * Creates the game with the specified seed and reveals the opening.
+     *
+     * @param seed The seed of the board.
+     * @return the game, with the opening revealed.
+     */
+    public Game newGame(long seed) {
+        Game game = new Game(config.withSeed(seed));
+        game.revealCell(getOpening(game));
+        return game;
+    }
+}
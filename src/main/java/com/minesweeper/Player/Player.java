@@ -1,187 +1,411 @@
 package com.minesweeper.Player;
 
+import com.minesweeper.diagnostics.Diagnostics;
+import com.minesweeper.diagnostics.Level;
 import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
 import com.minesweeper.model.Cell;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-
-import org.chocosolver.solver.Model;
-import org.chocosolver.solver.variables.BoolVar;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * The Player class represents a player in the Minesweeper game who uses constraint satisfaction
  * to solve the game. It interacts with the game board and uses a CSP solver to make decisions.
+ * <p>
+ * Only the frontier is modelled: the unknown cells next to revealed numbers. The frontier is split into
+ * independent components that are solved separately, each with its own small model, so the solving time
+ * depends on the complexity of the frontier rather than on the area of the board. The interior cells,
+ * about which no number says anything, only enter through the global mine count, which bounds the number
+ * of mines each component can hold.
+ * <p>
+ * Only sound moves are made: the solver reports the backbone of each component, the cells that take the same
+ * value in every solution, and only those cells are revealed or flagged. The time spent on one move is bounded
+ * by a configurable budget; cells that could not be decided in time are left alone.
+ * <p>
+ * Before the solver is used, a {@link RuleEngine} applies cheap local rules to the numbers changed by the
+ * latest moves; the components are only solved when these rules stall.
+ * <p>
+ * When no cell is certain, the player reveals the cell with the lowest probability of holding a mine, as
+ * computed by the {@link ProbabilityEngine}.
+ * <p>
+ * In parallel mode the components are solved concurrently on a {@link ForkJoinPool}, each with its own
+ * model; the game itself is only touched by the thread calling {@link #play()}.
+ * <p>
+ * A {@link MoveListener} is told about every cell the player changes, on the thread that plays, so that a
+ * view can follow a game played in the background.
  */
 public class Player {
+    /**
+     * Receives the cells changed by the moves of the player.
+     */
+    public interface MoveListener {
+        /**
+         * Called on the playing thread after the cell at the specified index was revealed or flagged.
+         *
+         * @param index The flat index ({@code row * columns + column}) of the changed cell.
+         */
+        void cellChanged(int index);
+    }
+
+
     private Game game;
-    private Model model = new Model();
-    private BoolVar[][] cellVars;
+    private Frontier frontier;
+    private RuleEngine rules;
+    private ProbabilityEngine probabilities;
+    private final ForkJoinPool pool;
+    private long moveBudgetMillis = 1000;
+    private boolean guessing = true;
+    private MoveListener moveListener;
+    private long moveCount;
 
     /**
-     * Constructs a Player with the specified game.
+     * Constructs a Player with the specified game that solves the frontier components one after another.
      *
      * @param game The Minesweeper game instance that the player will interact with.
      */
     public Player(Game game) {
+        this(game, null);
+    }
+
+    /**
+     * Constructs a Player with the specified game that solves independent frontier components in parallel.
+     *
+     * @param game The Minesweeper game instance that the player will interact with.
+     * @param pool The pool the components are solved on, or null to solve them on the calling thread.
+     */
+    public Player(Game game, ForkJoinPool pool) {
         this.game = game;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructs a Player for a new game with the specified configuration.
+     *
+     * @param config The configuration of the board the player will play on.
+     */
+    public Player(GameConfig config) {
+        this(new Game(config));
+    }
+
+    /**
+     * Returns the game the player interacts with.
+     *
+     * @return the game instance.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Sets the time the solver may spend on deciding one move.
+     *
+     * @param moveBudgetMillis The time budget per move, in milliseconds.
+     */
+    public void setMoveBudget(long moveBudgetMillis) {
+        this.moveBudgetMillis = moveBudgetMillis;
+    }
+
+    /**
+     * Returns the time the solver may spend on deciding one move.
+     *
+     * @return the time budget per move, in milliseconds.
+     */
+    public long getMoveBudget() {
+        return moveBudgetMillis;
+    }
+
+    /**
+     * Sets whether the player guesses when no cell is certain. A player that does not guess stops instead,
+     * so a game is only won if it can be solved by logic alone.
+     *
+     * @param guessing true to guess when stuck, false to stop.
+     */
+    public void setGuessing(boolean guessing) {
+        this.guessing = guessing;
+    }
+
+    /**
+     * Returns whether the player guesses when no cell is certain.
+     *
+     * @return true if the player guesses when stuck.
+     */
+    public boolean isGuessing() {
+        return guessing;
+    }
+
+    /**
+     * Sets the listener that is told about every cell changed by the player.
+     *
+     * @param moveListener The listener, or null to remove it.
+     */
+    public void setMoveListener(MoveListener moveListener) {
+        this.moveListener = moveListener;
+    }
+
+    /**
+     * Returns the number of cells the player revealed or flagged itself, not counting the cells revealed
+     * by the cascade of a reveal.
+     *
+     * @return the number of moves made so far.
+     */
+    public long getMoveCount() {
+        return moveCount;
     }
 
     /**
      * Starts the game-playing process. The player will continuously make moves until the game is over
      * or won. It uses a constraint satisfaction problem (CSP) solver to determine safe moves and
-     * flag mines. The player will reveal safe cells and flag mines based on the CSP solution.
-     * If the solver cannot find a solution, the player will ask for a hint which flags a mine cell for the player.
+     * flag mines. The player will reveal the cells that are safe and flag the cells that are mines in every
+     * solution of the CSP. If no cell is certain, the player will reveal the cell least likely to hold a mine.
      * The game will end when the player wins or loses.
      */
     public void play() {
-        getHint();
-        while (!game.GameOver() && !game.isWon()) {
-            setVariables(); // Initialize or update CSP variables based on the game state
-            setConstraints();
-    
-            if (model.getSolver().solve()) {
-                // If the model finds a solution, make moves based on that solution
-                // Reveal safe cells and flag mines as determined by the CSP solver
-                for (int row = 0; row < cellVars.length; row++) {
-                    for (int column = 0; column < cellVars[row].length; column++) {
-                        // Check if the cell is already revealed to avoid unnecessary actions
-                        Cell cell = game.getCell(row, column);
-                        if (!cell.isRevealed()) {
-                            if (cellVars[row][column].getValue() == 0) {
-                                // The solver determined this cell is safe (no mine), so reveal it
-                                game.revealCell(cell);
-                            } else {
-                                cell.flag();
-                            }
-                        }
-                    }
-                }
-            } else {
-                getHint();
-            }
-
+        while (step()) {
+            // Keep making moves until the game is over or the player is stuck
         }
         if (game.isWon()) {
-            printBoard();
-            System.out.println("You won!");
-        } else {
-            System.out.println("You lost!");
+            if (Diagnostics.DEBUG) {
+                printBoard();
+            }
+            if (Diagnostics.INFO) {
+                Diagnostics.log(Level.INFO, "Player", "You won!");
+            }
+        } else if (Diagnostics.INFO) {
+            Diagnostics.log(Level.INFO, "Player", "You lost!");
         }
     }
 
     /**
-     * Asks for a hint by flagging a mine cell on the board.
+     * Makes one decision: applies the local rules to the numbers changed since the last step, or, if they
+     * stall, solves the frontier components, or, if nothing is certain, guesses unless guessing is turned off.
+     * A decision may reveal or flag several cells. The frontier is built on the first call.
+     *
+     * @return true if a move was made, false if the game is over or no move is left.
      */
-    public void getHint() {
-        for (int row = 0; row < game.getRows(); row++) {
-            for (int column = 0; column < game.getColumns(); column++) {
-                Cell cell = game.getCell(row, column);
-                if (!cell.isRevealed() && cell.isMine()) {
-                    cell.flag();
-                    return;
+    public boolean step() {
+        if (frontier == null) {
+            frontier = new Frontier(game);
+            rules = new RuleEngine(game, frontier, this::move);
+            probabilities = new ProbabilityEngine();
+            for (int index = 0; index < game.getRows() * game.getColumns(); index++) {
+                if (frontier.isRevealed(index)) {
+                    rules.cellChanged(index);
                 }
             }
         }
+        if (game.GameOver() || game.isWon()) {
+            return false;
+        }
+        if (rules.run()) {
+            return true;
+        }
+        List<Component> components = frontier.components();
+        return makeMoves(components) || (guessing && guess(components));
     }
 
     /**
-     * Prints the current state of the game board to the console.
-     * Revealed cells display their mine count, flagged cells display 'F', and unrevealed cells display 'X'.
-     * This method provides a visual representation of the game board for debugging or informational purposes.
+     * Solves every component of the frontier and makes the moves that hold in every solution.
+     * When the frontier gives no moves, the global mine count decides the remaining unknown cells
+     * if either no mines or only mines are left.
+     *
+     * @param components The current components of the frontier.
+     * @return true if at least one cell was revealed or flagged, false otherwise.
      */
-    private void printBoard() {
-        for (int row = 0; row < game.getRows(); row++) {
-            for (int column = 0; column < game.getColumns(); column++) {
-                Cell cell = game.getCell(row, column);
-                if (cell.isRevealed()) {
-                    System.out.print(cell.getCount() + " ");
-                } else if (cell.isFlagged()) {
-                    System.out.print("F ");
-                } else {
-                    System.out.print("X ");
+    private boolean makeMoves(List<Component> components) {
+        int minesLeft = frontier.getMinesLeft();
+        int frontierSize = 0;
+        for (Component component : components) {
+            frontierSize += component.size();
+        }
+        int interior = frontier.getUnknownCount() - frontierSize;
+
+        int[] minMines = new int[components.size()];
+        int[] maxMines = new int[components.size()];
+        for (int c = 0; c < components.size(); c++) {
+            int size = components.get(c).size();
+            minMines[c] = Math.max(0, minesLeft - interior - (frontierSize - size));
+            maxMines[c] = Math.min(size, minesLeft);
+        }
+        long deadline = System.nanoTime() + moveBudgetMillis * 1_000_000L;
+        List<byte[]> backbones = solve(components, minMines, maxMines, deadline);
+
+        boolean progress = false;
+        for (int c = 0; c < components.size(); c++) {
+            Component component = components.get(c);
+            byte[] backbone = backbones.get(c);
+            if (backbone == null) {
+                continue;
+            }
+            for (int i = 0; i < backbone.length && !game.GameOver(); i++) {
+                if (backbone[i] != ComponentSolver.UNDECIDED) {
+                    progress |= move(component.cells[i], backbone[i] == ComponentSolver.MINE);
+                }
+            }
+            if (game.GameOver()) {
+                return true;
+            }
+        }
+
+        if (!progress && !game.GameOver() && (minesLeft == 0 || minesLeft == frontier.getUnknownCount())) {
+            boolean mine = minesLeft != 0;
+            for (Component component : components) {
+                for (int i = 0; i < component.size() && !game.GameOver(); i++) {
+                    progress |= move(component.cells[i], mine);
                 }
             }
-            System.out.println();
+            for (int index = frontier.findInteriorCell(); index >= 0 && !game.GameOver();
+                    index = frontier.findInteriorCell()) {
+                progress |= move(index, mine);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Reveals the unknown cell least likely to hold a mine.
+     *
+     * @param components The current components of the frontier.
+     * @return true if a cell was revealed, false if there is no unknown cell left.
+     */
+    private boolean guess(List<Component> components) {
+        ProbabilityEngine.Guess guess = probabilities.bestGuess(frontier, components);
+        if (guess == null) {
+            return false;
+        }
+        if (Diagnostics.DEBUG) {
+            int columns = game.getColumns();
+            Diagnostics.log(Level.DEBUG, "Player", "Guessing cell " + guess.index / columns + ", "
+                    + guess.index % columns + " with mine probability " + guess.mineProbability);
+        }
+        return move(guess.index, false);
+    }
+
+    /**
+     * Solves every component, on the pool if the player is in parallel mode and there is more than one.
+     * Each component is modelled and solved by its own {@link ComponentSolver}.
+     *
+     * @param components The components of the frontier.
+     * @param minMines   The least number of mines each component can hold.
+     * @param maxMines   The largest number of mines each component can hold.
+     * @param deadline   The value of {@link System#nanoTime()} after which the solvers stop.
+     * @return the backbone of each component, in the same order, with null for components without a solution.
+     */
+    private List<byte[]> solve(List<Component> components, int[] minMines, int[] maxMines, long deadline) {
+        List<byte[]> solutions = new ArrayList<>(components.size());
+        if (pool == null || components.size() < 2) {
+            for (int c = 0; c < components.size(); c++) {
+                solutions.add(solveComponent(components.get(c), minMines[c], maxMines[c], deadline));
+            }
+            return solutions;
+        }
+        List<ForkJoinTask<byte[]>> tasks = new ArrayList<>(components.size());
+        for (int c = 0; c < components.size(); c++) {
+            Component component = components.get(c);
+            int min = minMines[c];
+            int max = maxMines[c];
+            tasks.add(pool.submit(() -> solveComponent(component, min, max, deadline)));
+        }
+        for (ForkJoinTask<byte[]> task : tasks) {
+            solutions.add(task.join());
         }
+        return solutions;
+    }
+
+    private static byte[] solveComponent(Component component, int minMines, int maxMines, long deadline) {
+        if (Diagnostics.TRACE) {
+            Diagnostics.log(Level.TRACE, "Player", "Solving component of " + component.size()
+                    + " cells and " + component.targets.length + " numbers on "
+                    + Thread.currentThread().getName());
+        }
+        return new ComponentSolver(component, minMines, maxMines).findBackbone(deadline);
     }
 
     /**
-     * Initializes the CSP variables for each cell in the game board.
-     * This method sets up the boolean variables representing whether each cell contains a mine.
-     * It also assigns values to these variables based on the current state of the game board.
-     * If a cell is already revealed, its variable is set to false.
-     * If a cell is flagged, its variable is set to true.
-     * If a cell is neither revealed nor flagged, its variable is left unassigned.
-     * The variables are stored in a 2D array for easy access.
-     * The variables are named based on their coordinates (e.g., cell_0_0, cell_0_1, etc.).
-     * The variables are used to create constraints for the CSP solver.
-     * The constraints are based on the revealed cells and their surrounding mines.
-     * The constraints ensure that the number of surrounding mines matches the count on the revealed cell.
+     * Reveals or flags the cell at the specified index if it is still unknown, and updates the frontier.
+     *
+     * @param index The flat index of the cell.
+     * @param mine  true to flag the cell, false to reveal it.
+     * @return true if the cell was unknown and a move was made, false otherwise.
      */
-    private void setVariables() {
-        // Set the variables for the model
-        int rows = game.getRows();
+    private boolean move(int index, boolean mine) {
+        if (!frontier.isUnknown(index)) {
+            return false;
+        }
         int columns = game.getColumns();
-        cellVars = new BoolVar[rows][columns];
-
-        // Initialize each cell variable with a unique name based on its coordinates
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < columns; column++) {
-                cellVars[row][column] = model.boolVar("cell_" + row + "_" + column);
-                Cell curCell = game.getCell(row, column);
-                if (curCell.isRevealed()) {
-                    // If the cell is already revealed, set its value to false
-                    cellVars[row][column] = model.boolVar(false);
-                }
-                if (curCell.isFlagged()) {
-                    // If the cell is flagged, set its value to true
-                    cellVars[row][column] = model.boolVar(true);
+        Cell cell = game.getCell(index / columns, index % columns);
+        moveCount++;
+        if (mine) {
+            game.flagCell(cell);
+            cellChanged(index);
+        } else {
+            game.revealCell(cell);
+            if (!game.GameOver()) {
+                for (int i = 0; i < game.getNewlyRevealedCount(); i++) {
+                    cellChanged(game.getNewlyRevealedIndex(i));
                 }
             }
         }
+        return true;
     }
 
     /**
-     * Sets the constraints for the CSP model based on the revealed cells and their surrounding mines.
-     * This method creates constraints to ensure that the number of surrounding mines matches the count on the revealed cell.
-     * It iterates through each revealed cell and checks its surrounding cells to create constraints.
-     * The constraints are added to the model to be solved by the CSP solver.
+     * Updates the frontier, schedules the affected numbers for the rules and notifies the listener
+     * after a cell changed.
+     *
+     * @param index The flat index of the changed cell.
      */
-    private void setConstraints() {
-        int rows = game.getRows();
-        int columns = game.getColumns();
+    private void cellChanged(int index) {
+        frontier.update(index);
+        rules.cellChanged(index);
+        if (moveListener != null) {
+            moveListener.cellChanged(index);
+        }
+    }
 
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < columns; column++) {
-                System.out.println("Checking cell: " + row + ", " + column);
-                Cell curCell = game.getCell(row, column);
-                System.out.println("Checking cell: " + row + ", " + column);
-                if (curCell.isRevealed() && !curCell.isMine()) {
-                    int numberOnCell = game.getCell(row, column).getCount();
-                    List<BoolVar> surroundingCells = new ArrayList<>();
-
-                    // Check all surrounding cells
-                    for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, rows - 1); i++) {
-                        for (int j = Math.max(column - 1, 0); j <= Math.min(column + 1, columns - 1); j++) {
-                            if (i == row && j == column) continue; // Skip the current cell
-                            if (!game.getCell(i, j).isRevealed()) {
-                                surroundingCells.add(cellVars[i][j]);
-                            }
-                        }
+    /**
+     * Asks for a hint by flagging a mine cell on the board.
+     * The hint reads the hidden mines, so {@link #play()} does not use it.
+     *
+     * @return true if a mine was flagged, false if every mine is already flagged or revealed.
+     */
+    public boolean getHint() {
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                Cell cell = game.getCell(row, column);
+                if (!cell.isRevealed() && !cell.isFlagged() && cell.isMine()) {
+                    game.flagCell(cell);
+                    if (frontier != null) {
+                        cellChanged(cell.getIndex());
                     }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-                    // Convert List to array for the constraint method
-                    
-                    BoolVar[] surroundingCellsArray = surroundingCells.toArray(new BoolVar[0]);
-                    // Create a sum constraint
-                    if (surroundingCellsArray.length > 0) {
-                        model.sum(surroundingCellsArray, "=", numberOnCell).post();
-                    } else {
-                        System.out.println("here");
-                    }
+    /**
+     * Prints the current state of the game board to the diagnostics sink at debug level.
+     * Revealed cells display their mine count, flagged cells display 'F', and unrevealed cells display 'X'.
+     * This method provides a visual representation of the game board for debugging or informational purposes.
+     */
+    private void printBoard() {
+        StringBuilder board = new StringBuilder();
+        for (int row = 0; row < game.getRows(); row++) {
+            board.append(System.lineSeparator());
+            for (int column = 0; column < game.getColumns(); column++) {
+                Cell cell = game.getCell(row, column);
+                if (cell.isRevealed()) {
+                    board.append(cell.getCount()).append(' ');
+                } else if (cell.isFlagged()) {
+                    board.append("F ");
+                } else {
+                    board.append("X ");
                 }
             }
         }
+        Diagnostics.log(Level.DEBUG, "Player", board.toString());
     }
 }
@@ -0,0 +1,416 @@
+package com.minesweeper.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ProbabilityEngine class computes the probability that an unknown cell holds a mine, for choosing the
+ * safest guess when no cell is certain.
+ * <p>
+ * The solutions of every frontier component are counted by their number of mines. The components are then
+ * combined with the interior: a choice of mine totals for the components leaves the rest of the mines to the
+ * interior cells, which can be arranged in {@code C(interior, minesLeft - frontierMines)} ways. Weighting
+ * every solution by this number gives the exact probability of a mine for every frontier cell and for the
+ * interior cells.
+ * <p>
+ * The counts of a component only depend on its constraints, so they are cached across moves as long as the
+ * component stays the same. Components whose solutions are too many to enumerate, and frontiers too large
+ * to combine exactly, fall back to treating the interior as having a fixed mine density.
+ */
+final class ProbabilityEngine {
+    /**
+     * The largest number of search nodes spent on counting the solutions of one component.
+     */
+    static final long MAX_COUNTING_NODES = 2_000_000;
+    /**
+     * The largest component whose solutions are counted; this also bounds the depth of the search.
+     */
+    static final int MAX_COUNTED_CELLS = 512;
+    /**
+     * The largest total number of frontier cells for which the components are combined exactly.
+     */
+    static final int MAX_EXACT_FRONTIER = 400;
+
+    private Map<Component, Counts> cache = new HashMap<>();
+
+    /**
+     * The cell chosen by the engine and its probability of holding a mine.
+     */
+    static final class Guess {
+        final int index;
+        final double mineProbability;
+
+        Guess(int index, double mineProbability) {
+            this.index = index;
+            this.mineProbability = mineProbability;
+        }
+    }
+
+    /**
+     * The solution counts of a component, by number of mines.
+     */
+    private static final class Counts {
+        /**
+         * The number of solutions with k mines, or null if there were too many solutions to enumerate.
+         */
+        final double[] solutions;
+        /**
+         * For each cell, the number of solutions with k mines in which the cell holds a mine.
+         */
+        final double[][] cellMines;
+
+        Counts(double[] solutions, double[][] cellMines) {
+            this.solutions = solutions;
+            this.cellMines = cellMines;
+        }
+    }
+
+    /**
+     * Finds the unknown cell least likely to hold a mine.
+     *
+     * @param frontier   The frontier of the board.
+     * @param components The current components of the frontier.
+     * @return the safest cell, or null if there is no unknown cell.
+     */
+    Guess bestGuess(Frontier frontier, List<Component> components) {
+        Map<Component, Counts> counts = new HashMap<>();
+        int frontierSize = 0;
+        boolean exact = true;
+        for (Component component : components) {
+            Counts componentCounts = cache.get(component);
+            if (componentCounts == null) {
+                componentCounts = count(component);
+            }
+            counts.put(component, componentCounts);
+            frontierSize += component.size();
+            exact &= componentCounts.solutions != null;
+        }
+        cache = counts;
+
+        int minesLeft = frontier.getMinesLeft();
+        int interior = frontier.getUnknownCount() - frontierSize;
+        double[][] probabilities = new double[components.size()][];
+        double interiorProbability;
+        double[] weights = null;
+        if (exact && frontierSize <= MAX_EXACT_FRONTIER) {
+            weights = interiorWeights(minesLeft, interior, frontierSize);
+        }
+        if (weights != null) {
+            interiorProbability = combineExactly(components, counts, weights, minesLeft, interior, probabilities);
+        } else {
+            interiorProbability = -1;
+        }
+        if (interiorProbability < 0) {
+            interiorProbability = combineWithDensity(components, counts, frontier, probabilities);
+        }
+
+        Guess best = null;
+        for (int c = 0; c < components.size(); c++) {
+            int[] cells = components.get(c).cells;
+            for (int i = 0; i < cells.length; i++) {
+                if (best == null || probabilities[c][i] < best.mineProbability) {
+                    best = new Guess(cells[i], probabilities[c][i]);
+                }
+            }
+        }
+        if (interior > 0 && (best == null || interiorProbability < best.mineProbability)) {
+            int index = frontier.findInteriorCell();
+            if (index >= 0) {
+                best = new Guess(index, interiorProbability);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Combines the components and the interior exactly.
+     *
+     * @param weights The relative number of interior arrangements for each total of frontier mines.
+     * @return the probability of a mine in an interior cell, or -1 if the counts are inconsistent.
+     */
+    private double combineExactly(List<Component> components, Map<Component, Counts> counts, double[] weights,
+            int minesLeft, int interior, double[][] probabilities) {
+        int n = components.size();
+        // prefix[c] is the distribution of the frontier mines of components 0..c-1, suffix[c] of c..n-1
+        double[][] prefix = new double[n + 1][];
+        double[][] suffix = new double[n + 1][];
+        prefix[0] = new double[] {1};
+        suffix[n] = new double[] {1};
+        for (int c = 0; c < n; c++) {
+            prefix[c + 1] = convolve(prefix[c], counts.get(components.get(c)).solutions);
+        }
+        for (int c = n - 1; c >= 0; c--) {
+            suffix[c] = convolve(counts.get(components.get(c)).solutions, suffix[c + 1]);
+        }
+
+        double total = 0;
+        double interiorMines = 0;
+        double[] all = prefix[n];
+        for (int s = 0; s < all.length; s++) {
+            total += all[s] * weights[s];
+            interiorMines += all[s] * weights[s] * (minesLeft - s);
+        }
+        if (!(total > 0)) {
+            return -1;
+        }
+
+        for (int c = 0; c < n; c++) {
+            Counts componentCounts = counts.get(components.get(c));
+            double[] others = convolve(prefix[c], suffix[c + 1]);
+            int size = componentCounts.solutions.length;
+            double[] componentWeights = new double[size];
+            double componentTotal = 0;
+            for (int k = 0; k < size; k++) {
+                double w = 0;
+                for (int t = 0; t < others.length && k + t < weights.length; t++) {
+                    w += others[t] * weights[k + t];
+                }
+                componentWeights[k] = w;
+                componentTotal += componentCounts.solutions[k] * w;
+            }
+            probabilities[c] = cellProbabilities(componentCounts, componentWeights, componentTotal);
+        }
+        return interior == 0 ? 1 : interiorMines / total / interior;
+    }
+
+    /**
+     * Combines the components assuming every interior cell independently holds a mine with the average
+     * density of the unknown cells.
+     *
+     * @return the probability of a mine in an interior cell.
+     */
+    private double combineWithDensity(List<Component> components, Map<Component, Counts> counts,
+            Frontier frontier, double[][] probabilities) {
+        double density = frontier.getUnknownCount() == 0 ? 0
+                : (double) frontier.getMinesLeft() / frontier.getUnknownCount();
+        density = Math.min(Math.max(density, 1e-9), 1 - 1e-9);
+        double ratio = density / (1 - density);
+        for (int c = 0; c < components.size(); c++) {
+            Component component = components.get(c);
+            Counts componentCounts = counts.get(component);
+            if (componentCounts.solutions == null) {
+                probabilities[c] = localProbabilities(component, density);
+                continue;
+            }
+            int size = componentCounts.solutions.length;
+            double[] componentWeights = new double[size];
+            double componentTotal = 0;
+            double w = 1;
+            for (int k = 0; k < size; k++) {
+                componentWeights[k] = w;
+                componentTotal += componentCounts.solutions[k] * w;
+                w *= ratio;
+            }
+            probabilities[c] = componentTotal > 0
+                    ? cellProbabilities(componentCounts, componentWeights, componentTotal)
+                    : localProbabilities(component, density);
+        }
+        return density;
+    }
+
+    private static double[] cellProbabilities(Counts counts, double[] weights, double total) {
+        double[] probabilities = new double[counts.cellMines.length];
+        for (int i = 0; i < probabilities.length; i++) {
+            double mines = 0;
+            for (int k = 0; k < weights.length; k++) {
+                mines += counts.cellMines[i][k] * weights[k];
+            }
+            probabilities[i] = total > 0 ? mines / total : 1;
+        }
+        return probabilities;
+    }
+
+    /**
+     * Estimates the probability of each cell of a component from the numbers next to it alone,
+     * for components with too many solutions to count.
+     */
+    private static double[] localProbabilities(Component component, double density) {
+        double[] sum = new double[component.size()];
+        int[] seen = new int[component.size()];
+        for (int i = 0; i < component.targets.length; i++) {
+            int[] members = component.constraints[i];
+            for (int member : members) {
+                sum[member] += (double) component.targets[i] / members.length;
+                seen[member]++;
+            }
+        }
+        double[] probabilities = new double[component.size()];
+        for (int i = 0; i < probabilities.length; i++) {
+            probabilities[i] = seen[i] == 0 ? density : sum[i] / seen[i];
+        }
+        return probabilities;
+    }
+
+    /**
+     * Computes, for every possible number s of frontier mines, the number of ways to place the remaining
+     * {@code minesLeft - s} mines in the interior, relative to the largest of these numbers.
+     *
+     * @return the relative weights indexed by s, or null if no total of frontier mines is possible.
+     */
+    private static double[] interiorWeights(int minesLeft, int interior, int frontierSize) {
+        double[] logWeights = new double[frontierSize + 1];
+        Arrays.fill(logWeights, Double.NEGATIVE_INFINITY);
+        // Walk r = minesLeft - s upwards from its smallest value, using C(n, r + 1) = C(n, r) * (n - r) / (r + 1)
+        int lowest = Math.max(0, minesLeft - frontierSize);
+        int highest = Math.min(minesLeft, interior);
+        double logBinomial = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int r = lowest; r <= highest; r++) {
+            logWeights[minesLeft - r] = logBinomial;
+            max = Math.max(max, logBinomial);
+            logBinomial += Math.log((double) (interior - r) / (r + 1));
+        }
+        if (max == Double.NEGATIVE_INFINITY) {
+            return null;
+        }
+        double[] weights = new double[frontierSize + 1];
+        for (int s = 0; s <= frontierSize; s++) {
+            weights[s] = Math.exp(logWeights[s] - max);
+        }
+        return weights;
+    }
+
+    /**
+     * Convolves two distributions and rescales the result so that its largest entry is 1.
+     */
+    private static double[] convolve(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        double max = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        for (double value : result) {
+            max = Math.max(max, value);
+        }
+        if (max > 0) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] /= max;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the solutions of a component by their number of mines with a depth-first search.
+     *
+     * @return the counts, with null solutions if the component is larger than {@link #MAX_COUNTED_CELLS}
+     *         or the search exceeded {@link #MAX_COUNTING_NODES}.
+     */
+    private static Counts count(Component component) {
+        if (component.size() > MAX_COUNTED_CELLS) {
+            return new Counts(null, null);
+        }
+        Counter counter = new Counter(component);
+        if (!counter.search(0, 0)) {
+            return new Counts(null, null);
+        }
+        return new Counts(counter.solutions, counter.cellMines);
+    }
+
+    /**
+     * The state of the depth-first search counting the solutions of a component.
+     */
+    private static final class Counter {
+        private final Component component;
+        private final int[][] cellConstraints;
+        private final int[] mines;
+        private final int[] unassigned;
+        private final byte[] values;
+        private final double[] solutions;
+        private final double[][] cellMines;
+        private long nodes;
+
+        Counter(Component component) {
+            this.component = component;
+            int size = component.size();
+            int[] degree = new int[size];
+            for (int[] members : component.constraints) {
+                for (int member : members) {
+                    degree[member]++;
+                }
+            }
+            this.cellConstraints = new int[size][];
+            for (int i = 0; i < size; i++) {
+                cellConstraints[i] = new int[degree[i]];
+                degree[i] = 0;
+            }
+            for (int c = 0; c < component.constraints.length; c++) {
+                for (int member : component.constraints[c]) {
+                    cellConstraints[member][degree[member]++] = c;
+                }
+            }
+            this.mines = new int[component.targets.length];
+            this.unassigned = new int[component.targets.length];
+            for (int c = 0; c < unassigned.length; c++) {
+                unassigned[c] = component.constraints[c].length;
+            }
+            this.values = new byte[size];
+            this.solutions = new double[size + 1];
+            this.cellMines = new double[size][size + 1];
+        }
+
+        /**
+         * Assigns the cells from position i on, with k mines among the cells before it.
+         *
+         * @return false if the node budget was exhausted.
+         */
+        boolean search(int i, int k) {
+            if (++nodes > MAX_COUNTING_NODES) {
+                return false;
+            }
+            if (i == values.length) {
+                solutions[k]++;
+                for (int j = 0; j < values.length; j++) {
+                    if (values[j] == 1) {
+                        cellMines[j][k]++;
+                    }
+                }
+                return true;
+            }
+            for (byte value = 0; value <= 1; value++) {
+                if (!assign(i, value)) {
+                    continue;
+                }
+                values[i] = value;
+                boolean completed = search(i + 1, k + value);
+                unassign(i, value);
+                if (!completed) {
+                    return false;
+                }
+            }
+            values[i] = 0;
+            return true;
+        }
+
+        /**
+         * Assigns a value to cell i if no constraint is violated by it.
+         */
+        private boolean assign(int i, int value) {
+            for (int c : cellConstraints[i]) {
+                int newMines = mines[c] + value;
+                if (newMines > component.targets[c] || newMines + unassigned[c] - 1 < component.targets[c]) {
+                    return false;
+                }
+            }
+            for (int c : cellConstraints[i]) {
+                mines[c] += value;
+                unassigned[c]--;
+            }
+            return true;
+        }
+
+        private void unassign(int i, int value) {
+            for (int c : cellConstraints[i]) {
+                mines[c] -= value;
+                unassigned[c]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.minesweeper.Player;
+
+import com.minesweeper.model.Game;
+import com.minesweeper.model.Neighborhood;
+
+import java.util.Arrays;
+
+/**
+ * The RuleEngine class makes the moves that follow from simple local rules, without a CSP solver.
+ * <p>
+ * For a revealed number, let its target be the count minus its flagged neighbors. The single-cell rules are:
+ * <ul>
+ *     <li>if the target is 0, every unknown neighbor is safe;</li>
+ *     <li>if the target equals the number of unknown neighbors, every unknown neighbor is a mine.</li>
+ * </ul>
+ * The pair rule compares two numbers that share unknown cells. The shared cells hold at most
+ * {@code min(targetA, targetB, shared)} mines and at least {@code targetA - onlyA} of them, which can force
+ * the cells next to only one of the numbers to be all safe or all mines. This includes the subset rule.
+ * <p>
+ * The engine works through a worklist of numbers whose neighborhood changed, so a pass only looks at the
+ * part of the board touched by the latest moves.
+ */
+final class RuleEngine {
+    /**
+     * Receives the moves decided by the rules.
+     */
+    interface MoveSink {
+        /**
+         * Reveals or flags the cell at the specified index if it is still unknown.
+         *
+         * @param index The flat index of the cell.
+         * @param mine  true to flag the cell, false to reveal it.
+         * @return true if a move was made, false otherwise.
+         */
+        boolean move(int index, boolean mine);
+    }
+
+    private final Game game;
+    private final Frontier frontier;
+    private final MoveSink sink;
+    private final int rows;
+    private final int columns;
+    private final Neighborhood neighborhood;
+    private final int[] changedNeighbors = new int[Neighborhood.MAX_NEIGHBORS];
+    private final int[] cellNeighbors = new int[Neighborhood.MAX_NEIGHBORS];
+    private final boolean[] queued;
+    private int[] worklist = new int[64];
+    private int worklistSize;
+    private final int[] unknownA = new int[8];
+    private final int[] unknownB = new int[8];
+
+    /**
+     * Constructs a new RuleEngine.
+     *
+     * @param game     The game the rules are applied to.
+     * @param frontier The frontier tracking the state of the cells.
+     * @param sink     The receiver of the moves decided by the rules.
+     */
+    RuleEngine(Game game, Frontier frontier, MoveSink sink) {
+        this.game = game;
+        this.frontier = frontier;
+        this.sink = sink;
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        this.neighborhood = game.getNeighborhood();
+        this.queued = new boolean[rows * columns];
+    }
+
+    /**
+     * Schedules the numbers affected by a change of the cell at the specified index: the cell itself
+     * if it is revealed, and its revealed neighbors. The cells are scheduled in index order.
+     *
+     * @param index The flat index of the changed cell.
+     */
+    void cellChanged(int index) {
+        int count = neighborhood.neighbors(index, changedNeighbors);
+        boolean cellScheduled = false;
+        for (int i = 0; i < count; i++) {
+            int neighbor = changedNeighbors[i];
+            if (!cellScheduled && neighbor > index) {
+                cellScheduled = true;
+                if (frontier.isRevealed(index)) {
+                    enqueue(index);
+                }
+            }
+            if (frontier.isRevealed(neighbor)) {
+                enqueue(neighbor);
+            }
+        }
+        if (!cellScheduled && frontier.isRevealed(index)) {
+            enqueue(index);
+        }
+    }
+
+    /**
+     * Applies the rules until the worklist is empty or the game is over.
+     *
+     * @return true if at least one move was made, false if the rules stalled immediately.
+     */
+    boolean run() {
+        boolean progress = false;
+        while (worklistSize > 0 && !game.GameOver()) {
+            int index = worklist[--worklistSize];
+            queued[index] = false;
+            progress |= examine(index);
+        }
+        return progress;
+    }
+
+    /**
+     * Applies the single-cell rules to the number at the specified index, then the pair rule with every
+     * number within two cells of it.
+     *
+     * @return true if a move was made.
+     */
+    private boolean examine(int index) {
+        int unknownCount = collectUnknown(index, unknownA);
+        if (unknownCount == 0) {
+            return false;
+        }
+        int target = target(index);
+        if (target == 0 || target == unknownCount) {
+            return moveAll(unknownA, unknownCount, target != 0);
+        }
+
+        int row = index / columns;
+        int column = index % columns;
+        for (int r = Math.max(row - 2, 0); r <= Math.min(row + 2, rows - 1); r++) {
+            for (int c = Math.max(column - 2, 0); c <= Math.min(column + 2, columns - 1); c++) {
+                int other = r * columns + c;
+                if (other != index && frontier.isRevealed(other) && applyPairRule(index, unknownCount, target, other)) {
+                    enqueue(index);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the pair rule to the number A at the specified index, whose unknown neighbors are in
+     * {@code unknownA}, and the number B at {@code other}.
+     *
+     * @return true if a move was made.
+     */
+    private boolean applyPairRule(int index, int unknownCountA, int targetA, int other) {
+        int unknownCountB = collectUnknown(other, unknownB);
+        int shared = 0;
+        for (int i = 0; i < unknownCountA; i++) {
+            if (contains(unknownB, unknownCountB, unknownA[i])) {
+                shared++;
+            }
+        }
+        if (shared == 0) {
+            return false;
+        }
+        int targetB = target(other);
+        int onlyA = unknownCountA - shared;
+        int onlyB = unknownCountB - shared;
+        int maxShared = Math.min(Math.min(targetA, targetB), shared);
+        int minSharedFromA = Math.max(targetA - onlyA, 0);
+        int minSharedFromB = Math.max(targetB - onlyB, 0);
+
+        boolean progress = false;
+        if (onlyB > 0) {
+            if (targetB - maxShared == onlyB) {
+                progress |= moveExclusive(unknownB, unknownCountB, unknownA, unknownCountA, true);
+            } else if (targetB - minSharedFromA == 0) {
+                progress |= moveExclusive(unknownB, unknownCountB, unknownA, unknownCountA, false);
+            }
+        }
+        if (!progress && onlyA > 0) {
+            if (targetA - maxShared == onlyA) {
+                progress |= moveExclusive(unknownA, unknownCountA, unknownB, unknownCountB, true);
+            } else if (targetA - minSharedFromB == 0) {
+                progress |= moveExclusive(unknownA, unknownCountA, unknownB, unknownCountB, false);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Moves on every cell of {@code cells} that is not in {@code excluded}.
+     */
+    private boolean moveExclusive(int[] cells, int count, int[] excluded, int excludedCount, boolean mine) {
+        boolean progress = false;
+        for (int i = 0; i < count && !game.GameOver(); i++) {
+            if (!contains(excluded, excludedCount, cells[i])) {
+                progress |= sink.move(cells[i], mine);
+            }
+        }
+        return progress;
+    }
+
+    private boolean moveAll(int[] cells, int count, boolean mine) {
+        boolean progress = false;
+        for (int i = 0; i < count && !game.GameOver(); i++) {
+            progress |= sink.move(cells[i], mine);
+        }
+        return progress;
+    }
+
+    /**
+     * Returns the number of mines among the unknown neighbors of the number at the specified index.
+     */
+    private int target(int index) {
+        int count = neighborhood.neighbors(index, cellNeighbors);
+        int flagged = 0;
+        for (int i = 0; i < count; i++) {
+            if (frontier.isFlagged(cellNeighbors[i])) {
+                flagged++;
+            }
+        }
+        return game.getAdjacentMines(index / columns, index % columns) - flagged;
+    }
+
+    /**
+     * Writes the unknown neighbors of the cell at the specified index to the given array.
+     *
+     * @return the number of unknown neighbors.
+     */
+    private int collectUnknown(int index, int[] out) {
+        int count = neighborhood.neighbors(index, cellNeighbors);
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int neighbor = cellNeighbors[i];
+            if (frontier.isUnknown(neighbor)) {
+                out[size++] = neighbor;
+            }
+        }
+        return size;
+    }
+
+    private void enqueue(int index) {
+        if (queued[index]) {
+            return;
+        }
+        queued[index] = true;
+        if (worklistSize == worklist.length) {
+            worklist = Arrays.copyOf(worklist, worklistSize * 2);
+        }
+        worklist[worklistSize++] = index;
+    }
+
+    private static boolean contains(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,24 +1,44 @@
 package com.minesweeper.controller;
 
-import java.util.List;
-
-import com.minesweeper.Player.Player;
+import com.minesweeper.Player.BoardPool;
+import com.minesweeper.Player.NoGuessGenerator;
 import com.minesweeper.model.Cell;
 import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
 import com.minesweeper.model.GameMode;
+import com.minesweeper.model.MoveJournal;
+import com.minesweeper.model.Replay;
+import com.minesweeper.view.BoardView;
 import com.minesweeper.view.CellButton;
 import com.minesweeper.view.GameFrame;
 import com.minesweeper.view.GameOverFrame;
 import com.minesweeper.view.MainMenu;
+import com.minesweeper.view.RevealBatch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * The GameController class manages the game logic and user interactions for the Minesweeper game.
  * It handles user inputs, updates the game state, and communicates with the view components.
+ * Every move of the game, made by the user or by the solver, is recorded in an in-memory {@link MoveJournal},
+ * so the game can be replayed with {@link #getReplay()}.
+ * <p>
+ * By default a game is a random board whose mines are placed by the first click. On request, games are taken
+ * from the {@link BoardPool} of boards that can be solved without guessing instead; such a game starts with
+ * its opening revealed.
  */
 public class GameController {
-    private GameMode gameMode;
+    private GameConfig gameConfig;
     private Game game;
     private GameFrame gameFrame;
+    private SolverWorker solverWorker;
+    private final ByteArrayOutputStream journalBytes = new ByteArrayOutputStream();
+    private final MoveJournal journal;
+    private final boolean noGuess;
     
     private int flagsRemaining;
     
@@ -29,20 +49,120 @@ public class GameController {
      * @param gameMode the game mode to be used for the new game
      */
     public GameController(GameMode gameMode) {
-        this.gameMode = gameMode;
-        this.game = new Game(gameMode);
-        this.flagsRemaining = game.getNumMines();
+        this(GameConfig.of(gameMode));
+    }
+
+    /**
+     * Constructs a new GameController with the specified game configuration.
+     * Initializes the game, sets up the game frame, and displays it.
+     *
+     * @param gameConfig the configuration of the board to be used for the new game
+     */
+    public GameController(GameConfig gameConfig) {
+        this(gameConfig, false);
+    }
+
+    /**
+     * Constructs a new GameController with the specified game configuration, optionally playing boards that
+     * can be solved without guessing. Initializes the game, sets up the game frame, and displays it.
+     * <p>
+     * With no-guess boards, unless the configuration has a seed, the game is taken from the pool and starts with
+     * its opening revealed. If no pooled board is ready, a random board is used instead, so starting a game
+     * never waits for the generator. Either way the pool of the configuration is refilled in the background,
+     * ready for the next game.
+     *
+     * @param gameConfig the configuration of the board to be used for the new game
+     * @param noGuess    true to play boards that can be solved without guessing, false for random boards
+     */
+    public GameController(GameConfig gameConfig, boolean noGuess) {
+        this(gameConfig, noGuess, noGuess && !gameConfig.getSeed().isPresent()
+                ? BoardPool.getDefault().poll(gameConfig) : null);
+    }
+
+    /**
+     * Constructs a new GameController for the specified pooled game, or for a new random game if there is none.
+     *
+     * @param gameConfig the configuration of the board to be used for the new game
+     * @param noGuess    true if the following games are taken from the pool too
+     * @param pooled     the unopened game taken from the pool, or null
+     */
+    private GameController(GameConfig gameConfig, boolean noGuess, Game pooled) {
+        this(gameConfig, noGuess, pooled != null ? pooled : new Game(gameConfig), pooled != null);
+    }
+
+    /**
+     * Constructs a new GameController for the specified game, which has no moves yet.
+     * Attaches the move journal, opens the game if asked to, sets up the game frame, and displays it.
+     *
+     * @param gameConfig the configuration of the board to be used for the new game
+     * @param noGuess    true if the following games are taken from the pool of no-guess boards
+     * @param game       the game to be played
+     * @param open       true to reveal the opening of a no-guess board before the user plays
+     */
+    private GameController(GameConfig gameConfig, boolean noGuess, Game game, boolean open) {
+        this.gameConfig = gameConfig;
+        this.noGuess = noGuess;
+        this.game = game;
+        try {
+            this.journal = new MoveJournal(journalBytes, game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        game.setJournal(journal);
+        if (open) {
+            game.revealCell(NoGuessGenerator.getOpening(game));
+        }
+        this.flagsRemaining = game.getNumMines() - game.getFlaggedCount();
         this.gameFrame = new GameFrame(this);
+        if (game.getRevealedCount() > 0) {
+            getBoardView().refresh();
+        }
         gameFrame.setVisible(true);
     }
 
     /**
      * Returns the current game mode.
      *
-     * @return the current game mode
+     * @return the current game mode, or null if the game uses a custom board
      */
     public GameMode getGameMode() {
-        return this.gameMode;
+        return this.gameConfig.getMode();
+    }
+
+    /**
+     * Returns the configuration of the current game.
+     *
+     * @return the current game configuration
+     */
+    public GameConfig getGameConfig() {
+        return this.gameConfig;
+    }
+
+    /**
+     * Returns the current game.
+     *
+     * @return the game being played
+     */
+    public Game getGame() {
+        return this.game;
+    }
+
+    /**
+     * Returns the replay of the moves made so far in the current game.
+     *
+     * @return the replay.
+     * @throws IllegalStateException if the solver is running and still recording moves.
+     */
+    public Replay getReplay() {
+        if (isSolving()) {
+            throw new IllegalStateException("The solver is still playing");
+        }
+        try {
+            journal.flush();
+            return Replay.read(new ByteArrayInputStream(journalBytes.toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -70,24 +190,36 @@ public class GameController {
      * @param cellButton the cell button that was right-clicked
      */
     public void handleRightClick(CellButton cellButton) {
+        handleRightClick(cellButton.getRow(), cellButton.getColumn());
+    }
 
-        Cell cell = game.getCell(cellButton.getRow(), cellButton.getColumn());
+    /**
+     * Handles a right-click on the cell at the given row and column.
+     * Flags or unflags the cell and updates the flags remaining count.
+     *
+     * @param row    the row of the cell that was right-clicked
+     * @param column the column of the cell that was right-clicked
+     */
+    public void handleRightClick(int row, int column) {
+        if (isSolving()) {
+            return;
+        }
+        Cell cell = game.getCell(row, column);
         if (cell.isRevealed()) {
             return;
         }
         // Flag the cell at the given row and column
-        if (cellButton.isFlagged()) {
+        if (cell.isFlagged()) {
             flagsRemaining++;
-            cellButton.unflag();
-            cell.flag();
+            game.unflagCell(cell);
         }
         else {
             if (flagsRemaining > 0) {
-                cellButton.flag();
                 flagsRemaining--;
-                cell.unflag();
+                game.flagCell(cell);
             }
         }
+        getBoardView().cellChanged(row, column);
         gameFrame.updateFlagsRemaining(flagsRemaining);
     }
 
@@ -98,9 +230,23 @@ public class GameController {
      * @param cellButton the cell button that was left-clicked
      */
     public void handleLeftClick(CellButton cellButton) {
+        handleLeftClick(cellButton.getRow(), cellButton.getColumn());
+    }
+
+    /**
+     * Handles a left-click on the cell at the given row and column.
+     * Reveals the cell and checks for game over conditions.
+     *
+     * @param row    the row of the cell that was left-clicked
+     * @param column the column of the cell that was left-clicked
+     */
+    public void handleLeftClick(int row, int column) {
+        if (isSolving()) {
+            return;
+        }
         // Reveal the cell at the given row and column
-        Cell cell = game.getCell(cellButton.getRow(), cellButton.getColumn());
-        if (cellButton.isFlagged()) {
+        Cell cell = game.getCell(row, column);
+        if (cell.isFlagged()) {
             return;
         }
 
@@ -113,13 +259,8 @@ public class GameController {
             gameOverFrame.setVisible(true);
         }
         else {
-            List<Cell> newlyRevealedCells = game.getNewlyRevealedCells();
-            for (Cell curCell : newlyRevealedCells) {
-                    if (curCell.isRevealed()) {
-                        CellButton curCellButton = gameFrame.getCellButton(curCell.getRow(), curCell.getColumn());
-                        curCellButton.reveal(curCell.getCount());
-                    }
-                }   
+            // The whole cascade is applied as one change-set with a single repaint
+            getBoardView().cellsChanged(RevealBatch.ofNewlyRevealed(game));
         }
     }
 
@@ -127,29 +268,12 @@ public class GameController {
      * Displays the main menu frame and disposes of the current game frame.
      */
     public void showMainMenuFrame() {
+        stopSolving();
         gameFrame.dispose();
         MainMenu mainMenu = new MainMenu();
         mainMenu.setVisible(true);
     }
 
-    /**
-     * Flags or unflags a cell button and updates the flags remaining count.
-     *
-     * @param cellButton the cell button to be flagged or unflagged
-     */
-    public void flagCell(CellButton cellButton) {
-        if (cellButton.isFlagged()) {
-            flagsRemaining++;
-            cellButton.unflag();
-        }
-        else {
-            if (flagsRemaining > 0) {
-                flagsRemaining--;
-                cellButton.flag();
-            }
-        }
-    }
-
     /**
      * Returns the number of flags remaining.
      *
@@ -165,35 +289,123 @@ public class GameController {
      * @param gameMode the game mode for the new game
      */
     public void startNewGame(GameMode gameMode) {
-        new GameController(gameMode);
+        startNewGame(GameConfig.of(gameMode));
+    }
+
+    /**
+     * Starts a new game with the specified configuration and disposes of the current game frame.
+     * If no-guess boards were asked for, the new game is taken from their pool as well.
+     *
+     * @param gameConfig the configuration of the board for the new game
+     */
+    public void startNewGame(GameConfig gameConfig) {
+        stopSolving();
+        new GameController(gameConfig, noGuess);
         this.gameFrame.dispose();
     }
 
     /**
-     * Solves the game using a CSP algorithm.
+     * Returns the view that displays the game grid.
+     *
+     * @return the board view of the game frame
+     */
+    private BoardView getBoardView() {
+        return gameFrame.getBoardView();
+    }
+
+    /**
+     * Solves the game using a CSP algorithm on a background thread, or stops the solver if it is running.
+     * The board is updated while the solver plays, and clicks on the grid are ignored until it stops.
      */
     public void solveGame() {
-        Player p1 = new Player(game);
-        p1.play();
+        if (isSolving()) {
+            stopSolving();
+            return;
+        }
+        solverWorker = new SolverWorker(this, game);
+        gameFrame.setSolving(true);
+        solverWorker.execute();
+    }
+
+    /**
+     * Checks if the solver is running.
+     *
+     * @return true if the solver is playing the game, false otherwise
+     */
+    public boolean isSolving() {
+        return solverWorker != null;
+    }
+
+    /**
+     * Asks the solver to stop after its current decision. The controller is notified when it has stopped.
+     */
+    public void stopSolving() {
+        if (solverWorker != null) {
+            solverWorker.cancel(false);
+        }
+    }
+
+    /**
+     * Applies the change-sets published by the solver to the view and shows its progress.
+     * Called on the Event Dispatch Thread, while the solver thread still writes to the game, so only the
+     * published values are used and the game is not read.
+     *
+     * @param batches        the cells changed by the solver since the last update
+     * @param flagged        the number of flagged cells
+     * @param moves          the number of moves made by the solver
+     * @param movesPerSecond the average number of moves per second
+     */
+    void solverProgress(List<RevealBatch> batches, int flagged, long moves, double movesPerSecond) {
+        for (RevealBatch batch : batches) {
+            getBoardView().cellsChanged(batch);
+        }
+        flagsRemaining = Math.max(game.getNumMines() - flagged, 0);
+        gameFrame.updateFlagsRemaining(flagsRemaining);
+        gameFrame.updateSolverProgress(moves, movesPerSecond);
+    }
+
+    /**
+     * Brings the view up to date after the solver stopped. Called on the Event Dispatch Thread once
+     * the solver thread no longer touches the game. If the solver failed, the error is shown to the user.
+     *
+     * @param cancelled true if the solver was stopped before the game ended
+     * @param failure   the exception that stopped the solver, or null if it stopped normally
+     */
+    void solverFinished(boolean cancelled, Throwable failure) {
+        solverWorker = null;
+        gameFrame.setSolving(false);
+        updateFlagsFromGame();
+        getBoardView().refresh();
+        if (failure != null) {
+            failure.printStackTrace();
+            gameFrame.showSolverFailure(failure);
+        } else if (!cancelled && game.GameOver()) {
+            revealAllCells();
+            GameOverFrame gameOverFrame = new GameOverFrame();
+            gameOverFrame.setVisible(true);
+        }
+    }
+
+    /**
+     * Recomputes the flags remaining from the flags on the board, which the solver places itself.
+     */
+    private void updateFlagsFromGame() {
+        flagsRemaining = Math.max(game.getNumMines() - game.getFlaggedCount(), 0);
+        gameFrame.updateFlagsRemaining(flagsRemaining);
     }
 
     /**
      * Reveals all cells in the game grid.
      * Mines are revealed with a mine icon, and other cells show their adjacent mine count.
+     * Before the first reveal, the mines are placed first. Does nothing while the solver is running, since the
+     * solver thread owns the board until it stops.
      */
     public void revealAllCells() {
-        for (int i = 0; i < game.getRows(); i++) {
-            for (int j = 0; j < game.getColumns(); j++) {
-                Cell cell = game.getCell(i, j);
-                CellButton cellButton = gameFrame.getCellButton(i, j);
-                if (cell.isMine()) {
-                    cellButton.revealMine();
-                }
-                else {
-                    cellButton.reveal(cell.getCount());
-                }
-            }
+        if (isSolving()) {
+            return;
         }
+        game.ensureMines();
+        getBoardView().revealAll();
     }
 
 }
\ No newline at end of file
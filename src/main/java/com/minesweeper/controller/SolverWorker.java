@@ -0,0 +1,136 @@
+package com.minesweeper.controller;
+
+import com.minesweeper.Player.Player;
+import com.minesweeper.model.Game;
+import com.minesweeper.view.RevealBatch;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The SolverWorker class plays a game with a {@link Player} on a background thread, so that the Event
+ * Dispatch Thread stays responsive while the solver runs.
+ * <p>
+ * The cells changed by the player are collected in {@link RevealBatch} change-sets that are published to the
+ * view at most about 30 times per second, together with the number of moves made.
+ * <p>
+ * On boards larger than the expert board, the independent components of the frontier are solved in parallel on
+ * the common {@link ForkJoinPool}; the game itself is still only written by the worker thread.
+ * <p>
+ * While the worker runs, only the worker thread writes to the game; the controller ignores clicks on the grid,
+ * and the Event Dispatch Thread does not read the game at all. The worker records the state of every changed
+ * cell in the batch as it goes, together with the number of flags, and the view applies these recorded states:
+ * a batch is no longer modified once published, and publishing hands it to the Event Dispatch Thread through
+ * the synchronized queue of the SwingWorker. When the worker stops, whether finished or cancelled, the
+ * controller is notified with {@link SwingUtilities#invokeLater(Runnable)} after the last write to the game,
+ * which hands the whole board back to the Event Dispatch Thread.
+ * An exception thrown by the solver stops the worker and is handed to the controller as well, to be shown
+ * to the user.
+ */
+final class SolverWorker extends SwingWorker<Void, RevealBatch> {
+    private static final long PUBLISH_INTERVAL_NANOS = 33_000_000L;
+    private static final int TIME_CHECK_CELLS = 1024;
+    private static final int PARALLEL_MIN_CELLS = 16 * 30 + 1;
+
+    private final GameController controller;
+    private final Game game;
+    private final Player player;
+    private RevealBatch pending;
+    private long startTime;
+    private long lastPublishTime;
+    private volatile long moves;
+    private volatile int flagged;
+    private boolean finished;
+
+    /**
+     * Constructs a new SolverWorker for the specified game.
+     *
+     * @param controller The controller that is notified of the progress.
+     * @param game       The game to be solved.
+     */
+    SolverWorker(GameController controller, Game game) {
+        this.controller = controller;
+        this.game = game;
+        boolean parallel = (long) game.getRows() * game.getColumns() >= PARALLEL_MIN_CELLS;
+        this.player = new Player(game, parallel ? ForkJoinPool.commonPool() : null);
+        this.pending = new RevealBatch(game, 64);
+        player.setMoveListener(this::cellChanged);
+    }
+
+    /**
+     * Plays the game one decision at a time until it is over, the player is stuck or the worker is cancelled.
+     *
+     * @return nothing.
+     */
+    @Override
+    protected Void doInBackground() {
+        startTime = System.nanoTime();
+        lastPublishTime = startTime;
+        Throwable failure = null;
+        try {
+            while (!isCancelled() && player.step()) {
+                long now = System.nanoTime();
+                if (now - lastPublishTime >= PUBLISH_INTERVAL_NANOS) {
+                    flush(now);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            moves = player.getMoveCount();
+            boolean cancelled = isCancelled();
+            Throwable error = failure;
+            SwingUtilities.invokeLater(() -> {
+                finished = true;
+                controller.solverFinished(cancelled, error);
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Collects a cell changed by the player. A long decision, such as a large cascade of rule moves,
+     * is published part by part.
+     */
+    private void cellChanged(int index) {
+        pending.add(index);
+        if (pending.size() % TIME_CHECK_CELLS == 0) {
+            long now = System.nanoTime();
+            if (now - lastPublishTime >= PUBLISH_INTERVAL_NANOS) {
+                flush(now);
+            }
+        }
+    }
+
+    /**
+     * Publishes the collected cells and the number of moves made and flags placed so far.
+     */
+    private void flush(long now) {
+        moves = player.getMoveCount();
+        flagged = game.getFlaggedCount();
+        lastPublishTime = now;
+        if (!pending.isEmpty()) {
+            publish(pending);
+            pending = new RevealBatch(game, 64);
+        }
+    }
+
+    /**
+     * Applies the published change-sets to the view on the Event Dispatch Thread. Change-sets that arrive
+     * after the worker was cancelled or the controller was told it finished are dropped, since the view
+     * is then refreshed from the game as a whole.
+     *
+     * @param batches The change-sets published since the last call.
+     */
+    @Override
+    protected void process(List<RevealBatch> batches) {
+        if (finished || isCancelled()) {
+            return;
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        long movesMade = moves;
+        controller.solverProgress(batches, flagged, movesMade, seconds > 0 ? movesMade / seconds : 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.minesweeper.diagnostics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AsyncRingBufferSink class hands diagnostic messages to a background thread through a bounded
+ * ring buffer, so the thread producing the messages never waits on I/O.
+ * When the buffer is full new messages are dropped and counted instead of blocking the producer.
+ * Messages still buffered are written to the delegate sink when the sink is closed.
+ */
+public class AsyncRingBufferSink implements DiagnosticsSink, AutoCloseable {
+    private final ArrayBlockingQueue<Entry> buffer;
+    private final DiagnosticsSink delegate;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new AsyncRingBufferSink and starts its writer thread.
+     *
+     * @param capacity The maximum number of buffered messages.
+     * @param delegate The sink the messages are written to by the writer thread.
+     */
+    public AsyncRingBufferSink(int capacity, DiagnosticsSink delegate) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.delegate = delegate;
+        this.writer = new Thread(this::drain, "diagnostics-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void log(Level level, String source, String message) {
+        if (!buffer.offer(new Entry(level, source, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of messages dropped because the buffer was full.
+     *
+     * @return the number of dropped messages.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops the writer thread after writing all buffered messages to the delegate sink.
+     */
+    @Override
+    public void close() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Entry entry;
+        while ((entry = buffer.poll()) != null) {
+            delegate.log(entry.level, entry.source, entry.message);
+        }
+    }
+
+    /**
+     * Writes buffered messages to the delegate sink until the sink is closed.
+     */
+    private void drain() {
+        while (running) {
+            try {
+                Entry entry = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    delegate.log(entry.level, entry.source, entry.message);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A buffered diagnostic message.
+     */
+    private static final class Entry {
+        private final Level level;
+        private final String source;
+        private final String message;
+
+        private Entry(Level level, String source, String message) {
+            this.level = level;
+            this.source = source;
+            this.message = message;
+        }
+    }
+}
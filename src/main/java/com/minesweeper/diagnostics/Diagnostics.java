@@ -0,0 +1,91 @@
+package com.minesweeper.diagnostics;
+
+/**
+ * The Diagnostics class is the entry point for diagnostic messages of the model and solver code.
+ * <p>
+ * The threshold level is read once from the {@code minesweeper.diagnostics} system property
+ * (for example {@code -Dminesweeper.diagnostics=DEBUG}) and defaults to {@link Level#OFF}.
+ * Call sites guard their messages with the constant flags {@link #TRACE}, {@link #DEBUG} and
+ * {@link #INFO}; because these are static final, the JIT removes disabled branches entirely,
+ * including the building of the message strings.
+ * <pre>
+ * if (Diagnostics.TRACE) {
+ *     Diagnostics.log(Level.TRACE, "Player", "Checking cell: " + row + ", " + column);
+ * }
+ * </pre>
+ * When diagnostics are enabled, messages go to standard error unless another sink is installed,
+ * for instance an {@link AsyncRingBufferSink} for tracing headless runs.
+ */
+public final class Diagnostics {
+    /**
+     * The least severe level that is recorded.
+     */
+    public static final Level THRESHOLD = parseLevel(System.getProperty("minesweeper.diagnostics"));
+
+    /**
+     * Whether {@link Level#TRACE} messages are recorded.
+     */
+    public static final boolean TRACE = Level.TRACE.compareTo(THRESHOLD) >= 0;
+
+    /**
+     * Whether {@link Level#DEBUG} messages are recorded.
+     */
+    public static final boolean DEBUG = Level.DEBUG.compareTo(THRESHOLD) >= 0;
+
+    /**
+     * Whether {@link Level#INFO} messages are recorded.
+     */
+    public static final boolean INFO = Level.INFO.compareTo(THRESHOLD) >= 0;
+
+    private static volatile DiagnosticsSink sink =
+            THRESHOLD == Level.OFF ? DiagnosticsSink.NO_OP : new PrintStreamSink(System.err);
+
+    private Diagnostics() {
+    }
+
+    /**
+     * Checks if messages of the specified level are recorded.
+     *
+     * @param level The severity level.
+     * @return true if messages of the level are recorded, false otherwise.
+     */
+    public static boolean isEnabled(Level level) {
+        return level != Level.OFF && level.compareTo(THRESHOLD) >= 0;
+    }
+
+    /**
+     * Installs the sink that receives the recorded messages.
+     *
+     * @param newSink The sink, or null to discard all messages.
+     */
+    public static void setSink(DiagnosticsSink newSink) {
+        sink = newSink == null ? DiagnosticsSink.NO_OP : newSink;
+    }
+
+    /**
+     * Records a message if its level passes the threshold.
+     *
+     * @param level   The severity level of the message.
+     * @param source  The name of the component that produced the message.
+     * @param message The message text.
+     */
+    public static void log(Level level, String source, String message) {
+        if (isEnabled(level)) {
+            sink.log(level, source, message);
+        }
+    }
+
+    /**
+     * Parses the threshold level, falling back to {@link Level#OFF} for missing or unknown values.
+     */
+    private static Level parseLevel(String value) {
+        if (value == null) {
+            return Level.OFF;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.OFF;
+        }
+    }
+}
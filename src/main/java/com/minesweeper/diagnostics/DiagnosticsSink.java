@@ -0,0 +1,21 @@
+package com.minesweeper.diagnostics;
+
+/**
+ * A DiagnosticsSink receives the diagnostic messages that pass the level threshold of {@link Diagnostics}.
+ * Implementations must be safe to call from several threads.
+ */
+public interface DiagnosticsSink {
+    /**
+     * A sink that discards every message.
+     */
+    DiagnosticsSink NO_OP = (level, source, message) -> { };
+
+    /**
+     * Records a diagnostic message.
+     *
+     * @param level   The severity level of the message.
+     * @param source  The name of the component that produced the message.
+     * @param message The message text.
+     */
+    void log(Level level, String source, String message);
+}
@@ -0,0 +1,27 @@
+package com.minesweeper.diagnostics;
+
+/**
+ * Represents the severity levels of diagnostic messages, from the most to the least verbose.
+ */
+public enum Level {
+    /**
+     * Fine-grained tracing of individual steps, such as every cell visited by the solver.
+     */
+    TRACE,
+    /**
+     * Debugging information, such as board dumps.
+     */
+    DEBUG,
+    /**
+     * General information, such as game results.
+     */
+    INFO,
+    /**
+     * Unexpected situations that do not stop the game.
+     */
+    WARN,
+    /**
+     * Disables all diagnostic messages.
+     */
+    OFF
+}
@@ -0,0 +1,24 @@
+package com.minesweeper.diagnostics;
+
+import java.io.PrintStream;
+
+/**
+ * The PrintStreamSink class writes every diagnostic message as one line to a PrintStream.
+ */
+public class PrintStreamSink implements DiagnosticsSink {
+    private final PrintStream out;
+
+    /**
+     * Constructs a new PrintStreamSink writing to the specified stream.
+     *
+     * @param out The stream the messages are written to.
+     */
+    public PrintStreamSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void log(Level level, String source, String message) {
+        out.println("[" + level + "] " + source + ": " + message);
+    }
+}
@@ -0,0 +1,301 @@
+package com.minesweeper.model;
+
+/**
+ * The Board class stores the state of every cell of the Minesweeper grid in a single packed byte array.
+ * Each byte holds the adjacent mine count in its low four bits and the mine, revealed and flagged states
+ * as single bit flags. Cells are addressed by the flat index {@code row * columns + column}.
+ * <p>
+ * Compared to a {@code Cell[][]} grid (about 36 bytes per cell for the object, its fields and the
+ * array reference on a 64-bit JVM with compressed oops) this layout uses one byte per cell, so a
+ * 10,000 x 10,000 board needs roughly 100 MB instead of 3.6 GB.
+ * <p>
+ * Every state change goes through this class, which also maintains the number of revealed safe cells,
+ * flagged cells and flagged mines, so that these totals can be read in constant time.
+ */
+final class Board {
+    static final int COUNT_MASK = 0x0F;
+    static final int MINE = 0x10;
+    static final int REVEALED = 0x20;
+    static final int FLAGGED = 0x40;
+
+    private final int rows;
+    private final int columns;
+    private final byte[] cells;
+    private final Neighborhood neighborhood;
+    private final int[] neighbors = new int[Neighborhood.MAX_NEIGHBORS];
+    private int revealedSafeCount;
+    private int flaggedCount;
+    private int flaggedMineCount;
+
+    /**
+     * Constructs a new empty Board with the specified number of rows and columns.
+     *
+     * @param rows    The number of rows in the board.
+     * @param columns The number of columns in the board.
+     * @throws IllegalArgumentException if the board does not fit in a single array.
+     */
+    Board(int rows, int columns) {
+        long size = (long) rows * columns;
+        if (rows <= 0 || columns <= 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = new byte[(int) size];
+        this.neighborhood = new Neighborhood(rows, columns);
+    }
+
+    /**
+     * Returns a copy of this board, with the same cells and totals.
+     *
+     * @return the copy.
+     */
+    Board copy() {
+        Board copy = new Board(rows, columns);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        copy.revealedSafeCount = revealedSafeCount;
+        copy.flaggedCount = flaggedCount;
+        copy.flaggedMineCount = flaggedMineCount;
+        return copy;
+    }
+
+    /**
+     * Returns the number of rows in the board.
+     *
+     * @return the number of rows.
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns in the board.
+     *
+     * @return the number of columns.
+     */
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the neighborhood of the board, which enumerates the neighbors of a cell.
+     *
+     * @return the neighborhood.
+     */
+    Neighborhood getNeighborhood() {
+        return neighborhood;
+    }
+
+    /**
+     * Returns the total number of cells in the board.
+     *
+     * @return the number of cells.
+     */
+    int size() {
+        return cells.length;
+    }
+
+    /**
+     * Returns the flat index of the cell at the specified row and column.
+     *
+     * @param row    The row index of the cell.
+     * @param column The column index of the cell.
+     * @return the flat index of the cell.
+     */
+    int index(int row, int column) {
+        return row * columns + column;
+    }
+
+    /**
+     * Checks if the cell at the specified index is a mine.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is a mine, false otherwise.
+     */
+    boolean isMine(int index) {
+        return (cells[index] & MINE) != 0;
+    }
+
+    /**
+     * Sets the cell at the specified index as a mine.
+     *
+     * @param index The flat index of the cell.
+     */
+    void setMine(int index) {
+        if (!isMine(index)) {
+            markMine(index);
+        }
+    }
+
+    /**
+     * Sets the cell at the specified index as a mine and increments the adjacent mine count of each of
+     * its neighbors. Placing mines this way keeps all counts up to date in O(1) per mine.
+     * Does nothing if the cell is already a mine.
+     *
+     * @param index The flat index of the cell.
+     */
+    void addMine(int index) {
+        if (isMine(index)) {
+            return;
+        }
+        markMine(index);
+        int count = neighborhood.neighbors(index, neighbors);
+        for (int i = 0; i < count; i++) {
+            cells[neighbors[i]]++;
+        }
+    }
+
+    /**
+     * Sets the mine bit of a cell that is not a mine yet and keeps the totals consistent.
+     */
+    private void markMine(int index) {
+        cells[index] |= MINE;
+        if (isRevealed(index)) {
+            revealedSafeCount--;
+        }
+        if (isFlagged(index)) {
+            flaggedMineCount++;
+        }
+    }
+
+    /**
+     * Recomputes the adjacent mine count of every cell from the mine bits in a single streaming pass.
+     * For each row the number of mines in the three-row vertical window is accumulated per column,
+     * then every count is the sum of three neighboring window totals minus the cell itself.
+     */
+    void recomputeCounts() {
+        int[] window = new int[columns + 2];
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * columns;
+            for (int column = 0; column < columns; column++) {
+                int sum = (cells[rowStart + column] >>> 4) & 1;
+                if (row > 0) {
+                    sum += (cells[rowStart - columns + column] >>> 4) & 1;
+                }
+                if (row < rows - 1) {
+                    sum += (cells[rowStart + columns + column] >>> 4) & 1;
+                }
+                window[column + 1] = sum;
+            }
+            for (int column = 0; column < columns; column++) {
+                int index = rowStart + column;
+                int count = window[column] + window[column + 1] + window[column + 2] - ((cells[index] >>> 4) & 1);
+                cells[index] = (byte) ((cells[index] & ~COUNT_MASK) | count);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of mines surrounding the cell at the specified index.
+     *
+     * @param index The flat index of the cell.
+     * @return the number of adjacent mines.
+     */
+    int getCount(int index) {
+        return cells[index] & COUNT_MASK;
+    }
+
+    /**
+     * Sets the number of mines surrounding the cell at the specified index.
+     *
+     * @param index The flat index of the cell.
+     * @param count The number of adjacent mines.
+     */
+    void setCount(int index, int count) {
+        cells[index] = (byte) ((cells[index] & ~COUNT_MASK) | (count & COUNT_MASK));
+    }
+
+    /**
+     * Checks if the cell at the specified index is revealed.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is revealed, false otherwise.
+     */
+    boolean isRevealed(int index) {
+        return (cells[index] & REVEALED) != 0;
+    }
+
+    /**
+     * Sets the cell at the specified index to be revealed.
+     *
+     * @param index The flat index of the cell.
+     */
+    void setRevealed(int index) {
+        int cell = cells[index];
+        if ((cell & REVEALED) == 0) {
+            cells[index] = (byte) (cell | REVEALED);
+            if ((cell & MINE) == 0) {
+                revealedSafeCount++;
+            }
+        }
+    }
+
+    /**
+     * Checks if the cell at the specified index is flagged.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is flagged, false otherwise.
+     */
+    boolean isFlagged(int index) {
+        return (cells[index] & FLAGGED) != 0;
+    }
+
+    /**
+     * Flags or unflags the cell at the specified index.
+     *
+     * @param index   The flat index of the cell.
+     * @param flagged true to flag the cell, false to unflag it.
+     */
+    void setFlagged(int index, boolean flagged) {
+        if (flagged == isFlagged(index)) {
+            return;
+        }
+        int delta = flagged ? 1 : -1;
+        if (flagged) {
+            cells[index] |= FLAGGED;
+        } else {
+            cells[index] &= ~FLAGGED;
+        }
+        flaggedCount += delta;
+        if (isMine(index)) {
+            flaggedMineCount += delta;
+        }
+    }
+
+    /**
+     * Returns the mine, revealed and flagged bits of the cell at the specified index, without the count.
+     *
+     * @param index The flat index of the cell.
+     * @return the state bits of the cell.
+     */
+    int getStateBits(int index) {
+        return cells[index] & (MINE | REVEALED | FLAGGED);
+    }
+
+    /**
+     * Returns the number of revealed cells that are not mines.
+     *
+     * @return the number of revealed safe cells.
+     */
+    int getRevealedSafeCount() {
+        return revealedSafeCount;
+    }
+
+    /**
+     * Returns the number of flagged cells.
+     *
+     * @return the number of flags on the board.
+     */
+    int getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    /**
+     * Returns the number of flagged cells that are mines.
+     *
+     * @return the number of correct flags.
+     */
+    int getFlaggedMineCount() {
+        return flaggedMineCount;
+    }
+}
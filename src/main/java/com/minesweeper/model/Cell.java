@@ -2,26 +2,27 @@ package com.minesweeper.model;
 
 /**
  * The Cell class represents a single cell in the Minesweeper game grid.
- * It contains information about whether the cell is a mine, the number of adjacent mines,
- * and its state (revealed, flagged).
+ * It is a lightweight view over the packed {@link Board} storage and exposes whether the cell is a mine,
+ * the number of adjacent mines, and its state (revealed, flagged).
  */
 public class Cell {
-    private boolean isMine = false;
-    private int adjacentMines;
-    private boolean isRevealed = false;
-    private int row;
-    private int column;
-    private boolean isFlagged = false;
+    private final Board board;
+    private final int row;
+    private final int column;
+    private final int index;
 
     /**
-     * Constructs a new Cell with the specified row and column.
+     * Constructs a new Cell view of the specified row and column of the board.
      *
+     * @param board  The board storing the cell state.
      * @param row    The row index of the cell.
      * @param column The column index of the cell.
      */
-    public Cell(int row, int column) {
+    Cell(Board board, int row, int column) {
+        this.board = board;
         this.row = row;
         this.column = column;
+        this.index = board.index(row, column);
     }
 
     /**
@@ -30,14 +31,14 @@ public class Cell {
      * @return true if the cell is a mine, false otherwise.
      */
     public boolean isMine() {
-        return this.isMine;
+        return board.isMine(index);
     }
 
     /**
      * Sets the cell as a mine.
      */
     public void setMine() {
-        this.isMine = true;
+        board.setMine(index);
     }
 
     /**
@@ -46,7 +47,7 @@ public class Cell {
      * @param count The number of adjacent mines.
      */
     public void setCount(int count) {
-        this.adjacentMines = count;
+        board.setCount(index, count);
     }
 
     /**
@@ -55,7 +56,7 @@ public class Cell {
      * @return The number of adjacent mines.
      */
     public int getCount() {
-        return this.adjacentMines;
+        return board.getCount(index);
     }
 
     /**
@@ -64,15 +65,14 @@ public class Cell {
      * @return true if the cell is flagged, false otherwise.
      */
     public boolean isFlagged() {
-        return this.isFlagged;
+        return board.isFlagged(index);
     }
 
     /**
      * Sets the cell to be revealed.
      */
     public void setRevealed() {
-        // Set the cell to be revealed
-        this.isRevealed = true;
+        board.setRevealed(index);
     }
 
     /**
@@ -81,8 +81,7 @@ public class Cell {
      * @return true if the cell is revealed, false otherwise.
      */
     public boolean isRevealed() {
-        // Check if the cell is revealed
-        return this.isRevealed;
+        return board.isRevealed(index);
     }
 
     /**
@@ -107,13 +106,39 @@ public class Cell {
      * Flags the cell.
      */
     public void flag() {
-        this.isFlagged = true;
+        board.setFlagged(index, true);
     }
 
     /**
      * Unflags the cell.
      */
     public void unflag() {
-        this.isFlagged = false;
+        board.setFlagged(index, false);
+    }
+
+    /**
+     * Gets the flat index of the cell, equal to {@code row * columns + column}.
+     *
+     * @return The flat index.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Cell)) {
+            return false;
+        }
+        Cell other = (Cell) o;
+        return board == other.board && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
     }
 }
@@ -1,25 +1,34 @@
 package com.minesweeper.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Game class represents the Minesweeper game logic.
  * It manages the game grid, handles user interactions, and tracks the game state.
  */
 public class Game {
+    private final GameConfig config;
+    private final long seed;
+    private final SplittableRandom random;
     private int rows;
     private int columns;
-    private Cell[][] grid;
+    private Board board;
     private boolean gameOver = false;
+    private boolean minesPlaced;
     private int numMines;
-    private List<Cell> newlyRevealedCells = new ArrayList<>();
+    private int[] revealQueue = new int[0];
+    private final int[] neighbors = new int[Neighborhood.MAX_NEIGHBORS];
+    private int newlyRevealedCount;
+    private MoveJournal journal;
 
     /**
      * Constructs a new Game with the specified game mode.
-     * Initializes the game grid and places mines based on the difficulty level.
+     * Initializes the empty game grid; the mines are placed on the first reveal, away from the revealed cell.
      *
      * @param mode The game mode which determines the difficulty level.
      *             It can be one of the following:
@@ -30,30 +39,137 @@ public class Game {
      *             </ul>
      */
     public Game(GameMode mode) {
-        switch (mode) {
-            case EASY:
-                this.rows = 9;
-                columns = 9;
-                numMines = 10;
-                initGame(rows, columns);
-                placeMines(numMines);
-                break;
-            case MEDIUM:
-                rows = 16;
-                columns = 16;
-                numMines = 40;
-                initGame(rows, columns);
-                placeMines(numMines);
-                break;
-            case HARD:
-                rows = 16;
-                columns = 30;
-                numMines = 99;
-                initGame(rows, columns);
-                placeMines(numMines);
-                break;
+        this(GameConfig.of(mode));
+    }
+
+    /**
+     * Constructs a new Game with the specified configuration.
+     * Initializes the empty game grid; the mines are placed on the first reveal, away from the revealed cell,
+     * so that the game starts instantly even on huge boards and the first move always opens an area.
+     * If the configuration has a seed, the mine placement is reproducible for the same first move.
+     *
+     * @param config The configuration which determines the board size and the number of mines.
+     */
+    public Game(GameConfig config) {
+        this.config = config;
+        this.seed = config.getSeed().orElseGet(() -> ThreadLocalRandom.current().nextLong());
+        this.random = new SplittableRandom(seed);
+        this.numMines = config.getNumMines();
+        initGame(config.getRows(), config.getColumns());
+    }
+
+    /**
+     * Constructs a Game with the specified configuration on a copy of the given board, for restoring a snapshot.
+     *
+     * @param config      The configuration of the game.
+     * @param board       The board to be copied.
+     * @param gameOver    true if a mine was revealed.
+     * @param minesPlaced true if the mines of the board were placed, false if they are placed on the first reveal.
+     */
+    Game(GameConfig config, Board board, boolean gameOver, boolean minesPlaced) {
+        this.config = config;
+        this.seed = config.getSeed().orElseGet(() -> ThreadLocalRandom.current().nextLong());
+        this.random = new SplittableRandom(seed);
+        this.numMines = config.getNumMines();
+        this.rows = board.getRows();
+        this.columns = board.getColumns();
+        this.board = board.copy();
+        this.revealQueue = new int[Math.min(board.size(), 1024)];
+        this.gameOver = gameOver;
+        this.minesPlaced = minesPlaced;
+    }
+
+    /**
+     * Sets the journal that records every reveal, flag and unflag made through this game.
+     *
+     * @param journal The journal, or null to stop recording.
+     */
+    public void setJournal(MoveJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the journal that records the moves of this game.
+     *
+     * @return the journal, or null if the moves are not recorded.
+     */
+    public MoveJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the packed board of the game.
+     *
+     * @return the board.
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the neighborhood of the board, which lists the neighbors of a cell by flat index
+     * {@code row * columns + column} without allocating. Prefer it over {@link #getNeighbors(Cell)} in loops.
+     *
+     * @return the neighborhood.
+     */
+    public Neighborhood getNeighborhood() {
+        return board.getNeighborhood();
+    }
+
+    /**
+     * Marks the game as over or not, for restoring a saved game.
+     *
+     * @param gameOver true if a mine was revealed.
+     */
+    void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
+
+    /**
+     * Marks the mines of the board as placed or not, for restoring a saved game.
+     *
+     * @param minesPlaced true if the board holds the mines, false if they are placed on the first reveal.
+     */
+    void setMinesPlaced(boolean minesPlaced) {
+        this.minesPlaced = minesPlaced;
+    }
+
+    /**
+     * Checks if the mines have been placed. Until then, the board has no mines and every count is zero.
+     *
+     * @return true if the mines are placed, false if they are placed on the first reveal.
+     */
+    public boolean areMinesPlaced() {
+        return minesPlaced;
+    }
+
+    /**
+     * Places the mines now if they have not been placed yet, without keeping any cell free of mines.
+     * Used wherever the whole board is needed before the first reveal, e.g. to reveal every cell.
+     */
+    public void ensureMines() {
+        if (!minesPlaced) {
+            placeMines(numMines);
         }
-        setCounts();
+    }
+
+    /**
+     * Returns the configuration of the game.
+     *
+     * @return the game configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the seed used to place the mines. Creating a game with a configuration using this seed
+     * reproduces the same board.
+     *
+     * @return the seed of the mine placement.
+     */
+    public long getSeed() {
+        return seed;
     }
 
     /**
@@ -67,6 +183,7 @@ public class Game {
 
     /**
      * Initializes the game grid with the specified number of rows and columns.
+     * The cells are stored in a packed {@link Board}; no per-cell objects are allocated.
      *
      * @param rows    The number of rows in the game grid.
      * @param columns The number of columns in the game grid.
@@ -74,61 +191,111 @@ public class Game {
     public void initGame(int rows, int columns) {
         this.rows = rows;
         this.columns = columns;
-
-        grid = new Cell[rows][columns];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                Cell cell = new Cell(i, j);
-                grid[i][j] = cell;
-            }
-        }
+        this.board = new Board(rows, columns);
+        this.revealQueue = new int[Math.min(board.size(), 1024)];
+        this.newlyRevealedCount = 0;
+        this.minesPlaced = false;
     }
 
     /**
-     * Places the specified number of mines randomly on the game grid.
+     * Places the specified number of mines randomly on the empty game grid.
+     * Uses Floyd's sampling algorithm over the flat cell indices: each step draws exactly one random
+     * number and places exactly one mine, so the running time is bounded by the number of mines
+     * regardless of the mine density. The board itself serves as the set of already chosen cells.
+     * The adjacent mine counts are updated as each mine is placed, so no separate pass is needed.
      *
      * @param numMines The number of mines to be placed.
      */
     public void placeMines(int numMines) {
-        int minesPlaced = 0;
-        while (minesPlaced < numMines) {
-            int row = (int) (Math.random() * rows);
-            int col = (int) (Math.random() * columns);
-            if (!grid[row][col].isMine()) {
-                grid[row][col].setMine();
-                minesPlaced++;
+        placeMines(numMines, new int[0], 0);
+    }
+
+    /**
+     * Places the mines for a first reveal of the cell at the specified index. The cell and its neighbors are
+     * kept free of mines, so that the reveal opens an area; if the board is too dense for that, only the cell
+     * itself is kept free, or none at all on a board full of mines.
+     *
+     * @param index The flat index of the revealed cell.
+     */
+    private void placeMinesAround(int index) {
+        int[] excluded = new int[Neighborhood.MAX_NEIGHBORS + 1];
+        int excludedCount = 0;
+        int count = board.getNeighborhood().neighbors(index, neighbors);
+        if (numMines <= board.size() - count - 1) {
+            // The neighbors come in ascending order, so the cell is merged in at its place
+            for (int i = 0; i < count; i++) {
+                if (excludedCount == i && neighbors[i] > index) {
+                    excluded[excludedCount++] = index;
+                }
+                excluded[excludedCount++] = neighbors[i];
+            }
+            if (excludedCount == count) {
+                excluded[excludedCount++] = index;
             }
+        } else if (numMines < board.size()) {
+            excluded[excludedCount++] = index;
         }
+        placeMines(numMines, excluded, excludedCount);
     }
 
     /**
-     * Sets the count of adjacent mines for each non-mine cell in the game grid.
+     * Places the specified number of mines with Floyd's sampling over the cells that are not excluded.
+     * The sampling runs over a virtual index space without the excluded cells, and every drawn virtual index
+     * is mapped to a flat index by skipping the excluded cells below it.
+     *
+     * @param numMines      The number of mines to be placed.
+     * @param excluded      The flat indices of the cells kept free of mines, in ascending order.
+     * @param excludedCount The number of excluded cells.
      */
-    public void setCounts() {
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                if (!grid[i][j].isMine()) {
-                    int count = 0;
-                    for (int r = i - 1; r <= i + 1; r++) {
-                        for (int c = j - 1; c <= j + 1; c++) {
-                            if (r >= 0 && r < rows && c >= 0 && c < columns && grid[r][c].isMine()) {
-                                count++;
-                            }
-                        }
-                    }
-                    grid[i][j].setCount(count);
-                }
+    private void placeMines(int numMines, int[] excluded, int excludedCount) {
+        int size = board.size() - excludedCount;
+        for (int j = size - numMines; j < size; j++) {
+            int index = toFlatIndex(random.nextInt(j + 1), excluded, excludedCount);
+            if (board.isMine(index)) {
+                index = toFlatIndex(j, excluded, excludedCount);
             }
+            board.addMine(index);
         }
+        minesPlaced = true;
+    }
+
+    /**
+     * Maps an index of the virtual index space without the excluded cells to a flat cell index.
+     */
+    private static int toFlatIndex(int virtualIndex, int[] excluded, int excludedCount) {
+        int index = virtualIndex;
+        for (int i = 0; i < excludedCount && excluded[i] <= index; i++) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Recomputes the count of adjacent mines for every cell in the game grid.
+     * Mine placement already keeps the counts up to date, so this is only needed after mines were
+     * set directly through {@link Cell#setMine()}. The count of a mine cell is the number of mines
+     * around it, like any other cell. The mines set this way count as placed, so no more are added on
+     * the first reveal.
+     */
+    public void setCounts() {
+        board.recomputeCounts();
+        minesPlaced = true;
     }
     
     /**
-     * Reveals the specified cell. If the cell contains a mine, the game is marked as over.
+     * Reveals the specified cell and records the move in the journal. If the cell contains a mine, the game
+     * is marked as over.
      * Otherwise, it reveals all adjacent cells.
      *
      * @param cell The cell to be revealed.
      */
     public void revealCell(Cell cell) {
+        if (journal != null) {
+            journal.record(MoveJournal.REVEAL, cell.getIndex());
+        }
+        if (!minesPlaced) {
+            placeMinesAround(cell.getIndex());
+        }
         if (cell.isMine()) {
             gameOver = true;
             return;
@@ -136,32 +303,77 @@ public class Game {
         revealAll(cell);
     }
 
+    /**
+     * Flags the specified cell and records the move in the journal, if the cell is not flagged yet.
+     *
+     * @param cell The cell to be flagged.
+     */
+    public void flagCell(Cell cell) {
+        if (!cell.isFlagged()) {
+            if (journal != null) {
+                journal.record(MoveJournal.FLAG, cell.getIndex());
+            }
+            cell.flag();
+        }
+    }
+
+    /**
+     * Unflags the specified cell and records the move in the journal, if the cell is flagged.
+     *
+     * @param cell The cell to be unflagged.
+     */
+    public void unflagCell(Cell cell) {
+        if (cell.isFlagged()) {
+            if (journal != null) {
+                journal.record(MoveJournal.UNFLAG, cell.getIndex());
+            }
+            cell.unflag();
+        }
+    }
+
     /**
      * Reveals all cells adjacent to the specified cell. If the cell has a neighbor with no adjacent mines,
      * it recursively reveals all of its neighbors.
+     * <p>
+     * The fill is breadth-first over flat cell indices. Cells are marked as revealed when they are queued,
+     * so every cell enters the queue at most once, and the queue array doubles as the list of newly
+     * revealed cells: the head walks over cells still to expand while the tail records every revealed cell.
+     * The array is kept between calls and only grows, so a reveal allocates nothing per cell.
      *
      * @param cell The cell to be revealed.
      */
     public void revealAll(Cell cell) {
-        newlyRevealedCells = new ArrayList<>();
-        Queue<Cell> queue = new LinkedList<>();
-        List<Cell> neighbors;
-        queue.add(cell);
-
-        while (!queue.isEmpty()) {
-            Cell current = queue.poll();
-            current.setRevealed();
-            newlyRevealedCells.add(current);
-            if (current.getCount() == 0) {
-                neighbors = getNeighbors(current);
-                for (Cell neighbor : neighbors) {
-                    if (!neighbor.isRevealed()){
-                        queue.add(neighbor);
+        newlyRevealedCount = 0;
+        int start = cell.getIndex();
+        if (board.isRevealed(start)) {
+            return;
+        }
+        Neighborhood neighborhood = board.getNeighborhood();
+        int[] queue = revealQueue;
+        int head = 0;
+        int tail = 0;
+        board.setRevealed(start);
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (board.getCount(current) != 0) {
+                continue;
+            }
+            int count = neighborhood.neighbors(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (!board.isRevealed(neighbor)) {
+                    board.setRevealed(neighbor);
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, (int) Math.min((long) queue.length * 2, board.size()));
+                        revealQueue = queue;
                     }
+                    queue[tail++] = neighbor;
                 }
-                
             }
         }
+        newlyRevealedCount = tail;
     }
 
     /**
@@ -171,23 +383,11 @@ public class Game {
      * @return A list of neighboring cells.
      */
     public List<Cell> getNeighbors(Cell cell) {
-        List<Cell> neighbors = new ArrayList<>();
-        int[] directions = {-1, 0, 1}; 
-    
-        for (int dx : directions) {
-            for (int dy : directions) {
-                if (dx == 0 && dy == 0) {
-                    // Skip the cell itself
-                    continue;
-                }
-                System.out.println(cell.getRow() + " " + cell.getColumn());
-                int newX = cell.getRow() + dx;
-                int newY = cell.getColumn() + dy;
-                // Check boundaries
-                if (newX >= 0 && newX < rows && newY >= 0 && newY < columns) {
-                    neighbors.add(grid[newX][newY]);
-                }
-            }
+        int[] indices = new int[Neighborhood.MAX_NEIGHBORS];
+        int count = board.getNeighborhood().neighbors(board.index(cell.getRow(), cell.getColumn()), indices);
+        List<Cell> neighbors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neighbors.add(new Cell(board, indices[i] / columns, indices[i] % columns));
         }
         return neighbors;
     }
@@ -200,7 +400,48 @@ public class Game {
      * @return the number of adjacent mines.
      */
     public int getAdjacentMines(int row, int col) {
-        return grid[row][col].getCount();
+        return board.getCount(board.index(row, col));
+    }
+
+    /**
+     * Returns the number of adjacent mines for the cell at the specified flat index, row * columns + column.
+     * Unlike {@link #getCell(int, int)}, the index accessors allocate nothing, so they suit loops over many cells.
+     *
+     * @param index The flat index of the cell.
+     * @return the number of adjacent mines.
+     */
+    public int getAdjacentMines(int index) {
+        return board.getCount(index);
+    }
+
+    /**
+     * Checks if the cell at the specified flat index is a mine.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is a mine, false otherwise.
+     */
+    public boolean isMine(int index) {
+        return board.isMine(index);
+    }
+
+    /**
+     * Checks if the cell at the specified flat index is revealed.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is revealed, false otherwise.
+     */
+    public boolean isRevealed(int index) {
+        return board.isRevealed(index);
+    }
+
+    /**
+     * Checks if the cell at the specified flat index is flagged.
+     *
+     * @param index The flat index of the cell.
+     * @return true if the cell is flagged, false otherwise.
+     */
+    public boolean isFlagged(int index) {
+        return board.isFlagged(index);
     }
 
     /**
@@ -235,44 +476,119 @@ public class Game {
      *
      * @param row The row index of the cell.
      * @param col The column index of the cell.
-     * @return the cell at the specified row and column.
+     * @return a view of the cell at the specified row and column.
      */
     public Cell getCell(int row, int col) {
-        return grid[row][col];
+        if (row < 0 || row >= rows || col < 0 || col >= columns) {
+            throw new IndexOutOfBoundsException("Cell out of bounds: " + row + ", " + col);
+        }
+        return new Cell(board, row, col);
     }
 
     /**
-     * Gets the game grid.
+     * Gets the game grid as an array of cell views.
+     * The array is built on every call, so prefer {@link #getCell(int, int)} on large boards.
      *
      * @return The game grid.
      */
     public Cell[][] getGrid() {
+        Cell[][] grid = new Cell[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                grid[i][j] = new Cell(board, i, j);
+            }
+        }
         return grid;
     }
 
     /**
-     * Gets the list of newly revealed cells.
+     * Gets the list of cells revealed by the last reveal.
+     * The list is a view backed by the reveal buffer and is only valid until the next reveal.
      *
      * @return The list of newly revealed cells.
      */
     public List<Cell> getNewlyRevealedCells() {
-        return newlyRevealedCells;
+        return new AbstractList<Cell>() {
+            @Override
+            public Cell get(int i) {
+                int index = getNewlyRevealedIndex(i);
+                return new Cell(board, index / columns, index % columns);
+            }
+
+            @Override
+            public int size() {
+                return newlyRevealedCount;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of cells revealed by the last reveal.
+     *
+     * @return the number of newly revealed cells.
+     */
+    public int getNewlyRevealedCount() {
+        return newlyRevealedCount;
+    }
+
+    /**
+     * Returns the flat index of the i-th cell revealed by the last reveal, in breadth-first order.
+     *
+     * @param i The position in the list of newly revealed cells.
+     * @return the flat index ({@code row * columns + column}) of the cell.
+     * @throws IndexOutOfBoundsException if i is not less than {@link #getNewlyRevealedCount()}.
+     */
+    public int getNewlyRevealedIndex(int i) {
+        if (i < 0 || i >= newlyRevealedCount) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + newlyRevealedCount);
+        }
+        return revealQueue[i];
     }
 
     /**
      * Checks if the game is won. Game is won if all non-mine cells are revealed.
+     * The board keeps count of the revealed safe cells, so the check takes constant time.
      *
      * @return true if the game is won, false otherwise.
      */
     public boolean isWon() {
-        int numRevealed = 0;
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                if (grid[i][j].isRevealed()) {
-                    numRevealed++;
-                }
-            }
-        }
-        return numRevealed == rows * columns - numMines;
+        return board.getRevealedSafeCount() == rows * columns - numMines;
+    }
+
+    /**
+     * Returns the number of revealed cells that are not mines.
+     *
+     * @return the number of revealed safe cells.
+     */
+    public int getRevealedCount() {
+        return board.getRevealedSafeCount();
+    }
+
+    /**
+     * Returns the number of flagged cells.
+     *
+     * @return the number of flags on the board.
+     */
+    public int getFlaggedCount() {
+        return board.getFlaggedCount();
+    }
+
+    /**
+     * Returns the number of flagged cells that really are mines.
+     *
+     * @return the number of correct flags.
+     */
+    public int getCorrectlyFlaggedCount() {
+        return board.getFlaggedMineCount();
+    }
+
+    /**
+     * Returns the share of the safe cells that has been revealed, in constant time.
+     *
+     * @return the progress of the game, from 0.0 for a new game to 1.0 for a won game.
+     */
+    public double getProgress() {
+        int safeCells = rows * columns - numMines;
+        return safeCells == 0 ? 1.0 : (double) board.getRevealedSafeCount() / safeCells;
     }
 }
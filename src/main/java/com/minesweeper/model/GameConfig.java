@@ -0,0 +1,141 @@
+package com.minesweeper.model;
+
+import java.util.OptionalLong;
+
+/**
+ * The GameConfig class describes the board of a Minesweeper game: its dimensions, the number of mines
+ * and an optional seed that makes mine placement reproducible.
+ * A configuration is either one of the predefined {@link GameMode} difficulty levels or a custom board.
+ */
+public final class GameConfig {
+    private final GameMode mode;
+    private final int rows;
+    private final int columns;
+    private final int numMines;
+    private final OptionalLong seed;
+
+    private GameConfig(GameMode mode, int rows, int columns, int numMines, OptionalLong seed) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive: " + rows + "x" + columns);
+        }
+        long cells = (long) rows * columns;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board is too large: " + rows + "x" + columns);
+        }
+        if (numMines < 0 || numMines > cells) {
+            throw new IllegalArgumentException("Invalid number of mines: " + numMines);
+        }
+        this.mode = mode;
+        this.rows = rows;
+        this.columns = columns;
+        this.numMines = numMines;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a configuration for the specified difficulty level.
+     *
+     * @param mode The difficulty level.
+     * @return the configuration of the difficulty level.
+     */
+    public static GameConfig of(GameMode mode) {
+        return new GameConfig(mode, mode.getRows(), mode.getColumns(), mode.getNumMines(), OptionalLong.empty());
+    }
+
+    /**
+     * Creates a custom configuration with randomly placed mines.
+     *
+     * @param rows     The number of rows in the game grid.
+     * @param columns  The number of columns in the game grid.
+     * @param numMines The number of mines to place.
+     * @return the custom configuration.
+     * @throws IllegalArgumentException if the dimensions or the number of mines are invalid.
+     */
+    public static GameConfig custom(int rows, int columns, int numMines) {
+        return new GameConfig(null, rows, columns, numMines, OptionalLong.empty());
+    }
+
+    /**
+     * Creates a custom configuration whose mine placement is reproducible from the given seed.
+     *
+     * @param rows     The number of rows in the game grid.
+     * @param columns  The number of columns in the game grid.
+     * @param numMines The number of mines to place.
+     * @param seed     The seed of the random number generator used to place the mines.
+     * @return the custom configuration.
+     * @throws IllegalArgumentException if the dimensions or the number of mines are invalid.
+     */
+    public static GameConfig custom(int rows, int columns, int numMines, long seed) {
+        return new GameConfig(null, rows, columns, numMines, OptionalLong.of(seed));
+    }
+
+    /**
+     * Returns a copy of this configuration that uses the given seed.
+     *
+     * @param seed The seed of the random number generator used to place the mines.
+     * @return the seeded configuration.
+     */
+    public GameConfig withSeed(long seed) {
+        return new GameConfig(mode, rows, columns, numMines, OptionalLong.of(seed));
+    }
+
+    /**
+     * Returns the difficulty level of this configuration, or null for a custom board.
+     *
+     * @return the difficulty level, or null if the board is custom.
+     */
+    public GameMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Checks if this configuration is a custom board rather than a predefined difficulty level.
+     *
+     * @return true if the board is custom, false otherwise.
+     */
+    public boolean isCustom() {
+        return mode == null;
+    }
+
+    /**
+     * Returns the number of rows in the game grid.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns in the game grid.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of mines in the game.
+     *
+     * @return the number of mines.
+     */
+    public int getNumMines() {
+        return numMines;
+    }
+
+    /**
+     * Returns the seed of the random number generator, if one was set.
+     *
+     * @return the seed, or an empty value if mines are placed with an unseeded generator.
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        String name = mode == null ? "CUSTOM" : mode.name();
+        return name + " " + rows + "x" + columns + " (" + numMines + " mines)";
+    }
+}
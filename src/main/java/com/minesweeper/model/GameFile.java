@@ -0,0 +1,192 @@
+package com.minesweeper.model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameFile class saves and loads the state of a {@link Game} in a compact binary format.
+ * <p>
+ * A file starts with a 32-byte header, followed by three bit planes of one bit per cell in flat index order:
+ * the mines, the revealed cells and the flagged cells. Each plane is a sequence of little-endian 64-bit words,
+ * where bit {@code i % 64} of word {@code i / 64} belongs to cell {@code i}. The adjacent mine counts are not
+ * stored; they are recomputed from the mines on loading.
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "MSWP"
+ *      4     2  format version
+ *      6     2  flags (bit 0: game over, bit 1: mines not placed yet)
+ *      8     4  rows
+ *     12     4  columns
+ *     16     4  number of mines
+ *     20     1  game mode ordinal, or -1 for a custom board
+ *     21     3  reserved
+ *     24     8  seed of the mine placement
+ * </pre>
+ * Files are written and read through a memory-mapped {@link FileChannel}, without creating an object per cell,
+ * so a board of 100 million cells takes about 37.5 MB and saves or loads in a fraction of a second.
+ */
+public final class GameFile {
+    /**
+     * The magic number at the start of every file, the ASCII characters "MSWP".
+     */
+    public static final int MAGIC = 0x4D535750;
+    /**
+     * The version of the format written by this class.
+     */
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int FLAG_GAME_OVER = 1;
+    private static final int FLAG_MINES_PENDING = 2;
+
+    private GameFile() {
+    }
+
+    /**
+     * Saves the specified game to the specified file, replacing the file if it exists.
+     *
+     * @param game The game to be saved.
+     * @param path The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(Game game, Path path) throws IOException {
+        Board board = game.getBoard();
+        int size = board.size();
+        long planeSize = planeSize(size);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + 3 * planeSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            GameMode mode = game.getConfig().getMode();
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putShort(6, (short) ((game.GameOver() ? FLAG_GAME_OVER : 0)
+                    | (game.areMinesPlaced() ? 0 : FLAG_MINES_PENDING)));
+            buffer.putInt(8, game.getRows());
+            buffer.putInt(12, game.getColumns());
+            buffer.putInt(16, game.getNumMines());
+            buffer.put(20, (byte) (mode == null ? -1 : mode.ordinal()));
+            buffer.putLong(24, game.getSeed());
+
+            int mineOffset = HEADER_SIZE;
+            int revealedOffset = (int) (mineOffset + planeSize);
+            int flaggedOffset = (int) (revealedOffset + planeSize);
+            for (int word = 0; word * 64L < size; word++) {
+                long mines = 0;
+                long revealed = 0;
+                long flagged = 0;
+                int first = word * 64;
+                int last = (int) Math.min(first + 64L, size);
+                for (int index = first; index < last; index++) {
+                    // Branch-free, since the bits of a board are close to random
+                    long bits = board.getStateBits(index);
+                    int shift = index - first;
+                    mines |= ((bits >>> 4) & 1) << shift;
+                    revealed |= ((bits >>> 5) & 1) << shift;
+                    flagged |= ((bits >>> 6) & 1) << shift;
+                }
+                buffer.putLong(mineOffset + word * 8, mines);
+                buffer.putLong(revealedOffset + word * 8, revealed);
+                buffer.putLong(flaggedOffset + word * 8, flagged);
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Loads a game from the specified file.
+     *
+     * @param path The file to read.
+     * @return the restored game, with the same configuration, seed, mines, revealed and flagged cells.
+     * @throws IOException if the file cannot be read or is not a valid game file.
+     */
+    public static Game load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a minesweeper game file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a minesweeper game file: " + path);
+            }
+            short version = buffer.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported game file version " + version + ": " + path);
+            }
+            int flags = buffer.getShort(6);
+            int rows = buffer.getInt(8);
+            int columns = buffer.getInt(12);
+            int numMines = buffer.getInt(16);
+            int modeOrdinal = buffer.get(20);
+            long seed = buffer.getLong(24);
+
+            GameConfig config;
+            try {
+                config = modeOrdinal >= 0
+                        ? GameConfig.of(GameMode.values()[modeOrdinal]).withSeed(seed)
+                        : GameConfig.custom(rows, columns, numMines, seed);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Invalid game file header: " + path, e);
+            }
+            if (config.getRows() != rows || config.getColumns() != columns || config.getNumMines() != numMines) {
+                throw new IOException("Invalid game file header: " + path);
+            }
+            int size = rows * columns;
+            long planeSize = planeSize(size);
+            if (channel.size() < HEADER_SIZE + 3 * planeSize) {
+                throw new IOException("Truncated game file: " + path);
+            }
+
+            // Only the set bits are visited; the board keeps its counts and totals up to date as they are applied
+            Game game = new Game(config);
+            Board board = game.getBoard();
+            int words = (int) (planeSize / 8);
+            int mineOffset = HEADER_SIZE;
+            int revealedOffset = (int) (mineOffset + planeSize);
+            int flaggedOffset = (int) (revealedOffset + planeSize);
+            for (int word = 0; word < words; word++) {
+                for (long mines = buffer.getLong(mineOffset + word * 8); mines != 0; mines &= mines - 1) {
+                    board.addMine(cellIndex(word, mines, size));
+                }
+            }
+            for (int word = 0; word < words; word++) {
+                for (long revealed = buffer.getLong(revealedOffset + word * 8); revealed != 0;
+                        revealed &= revealed - 1) {
+                    board.setRevealed(cellIndex(word, revealed, size));
+                }
+                for (long flagged = buffer.getLong(flaggedOffset + word * 8); flagged != 0; flagged &= flagged - 1) {
+                    board.setFlagged(cellIndex(word, flagged, size), true);
+                }
+            }
+            game.setGameOver((flags & FLAG_GAME_OVER) != 0);
+            // A game saved before its first reveal places its mines on the first reveal after loading
+            game.setMinesPlaced((flags & FLAG_MINES_PENDING) == 0);
+            return game;
+        }
+    }
+
+    /**
+     * Returns the index of the cell of the lowest set bit of a plane word.
+     *
+     * @throws IOException if the bit lies past the last cell.
+     */
+    private static int cellIndex(int word, long bits, int size) throws IOException {
+        int index = word * 64 + Long.numberOfTrailingZeros(bits);
+        if (index >= size) {
+            throw new IOException("Invalid game file: bit set past the last cell");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the size in bytes of a bit plane of the specified number of cells, rounded up to whole words.
+     */
+    private static long planeSize(int size) {
+        return ((size + 63L) / 64) * 8;
+    }
+}
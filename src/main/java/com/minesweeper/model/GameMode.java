@@ -2,18 +2,56 @@ package com.minesweeper.model;
 
 /**
  * Represents the difficulty levels for the Minesweeper game.
+ * Each level defines the dimensions of the grid and the number of mines.
  */
 public enum GameMode {
     /**
-     * Easy difficulty level.
+     * Easy difficulty level: 9x9 grid with 10 mines.
      */
-    EASY,
+    EASY(9, 9, 10),
     /**
-     * Medium difficulty level.
+     * Medium difficulty level: 16x16 grid with 40 mines.
      */ 
-    MEDIUM, 
+    MEDIUM(16, 16, 40), 
     /**
-     * Hard difficulty level.
+     * Hard difficulty level: 16x30 grid with 99 mines.
      */
-    HARD
-}
\ No newline at end of file
+    HARD(16, 30, 99);
+
+    private final int rows;
+    private final int columns;
+    private final int numMines;
+
+    GameMode(int rows, int columns, int numMines) {
+        this.rows = rows;
+        this.columns = columns;
+        this.numMines = numMines;
+    }
+
+    /**
+     * Returns the number of rows of this difficulty level.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of this difficulty level.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of mines of this difficulty level.
+     *
+     * @return the number of mines.
+     */
+    public int getNumMines() {
+        return numMines;
+    }
+}
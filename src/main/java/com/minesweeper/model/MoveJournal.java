@@ -0,0 +1,130 @@
+package com.minesweeper.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * The MoveJournal class records the moves of a {@link Game} in an append-only stream, so that the game can be
+ * rebuilt move by move with {@link Replay}.
+ * <p>
+ * The journal starts with a header that identifies the board:
+ * <pre>
+ * size  field
+ *    4  magic "MSWJ"
+ *    1  format version
+ *    1  game mode ordinal, or -1 for a custom board
+ *    4  rows
+ *    4  columns
+ *    4  number of mines
+ *    8  seed of the mine placement
+ * </pre>
+ * The header is followed by one entry per move, the value {@code (index << 2) | type} written as an unsigned
+ * LEB128 varint: seven bits per byte, low bits first, with the high bit set on every byte but the last.
+ * A move on a board of up to 2<sup>21</sup> cells takes at most three bytes.
+ * <p>
+ * Writing a move cannot throw a checked exception, because moves are recorded from within the game;
+ * an {@link IOException} of the underlying stream is rethrown as an {@link UncheckedIOException}.
+ */
+public final class MoveJournal implements Closeable {
+    /**
+     * The magic number at the start of every journal, the ASCII characters "MSWJ".
+     */
+    public static final int MAGIC = 0x4D53574A;
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+    /**
+     * The type of a move that reveals a cell.
+     */
+    public static final int REVEAL = 0;
+    /**
+     * The type of a move that flags a cell.
+     */
+    public static final int FLAG = 1;
+    /**
+     * The type of a move that removes a flag.
+     */
+    public static final int UNFLAG = 2;
+
+    private final OutputStream out;
+    private final byte[] entry = new byte[10];
+    private long moveCount;
+
+    /**
+     * Constructs a new MoveJournal for the specified game and writes the header. The journal is not attached
+     * to the game; use {@link Game#setJournal(MoveJournal)} to start recording. The journal buffers its
+     * output itself, so the stream does not need to be buffered.
+     *
+     * @param out  The stream the journal is written to.
+     * @param game The game whose moves are recorded, before its first move.
+     * @throws IOException if the header cannot be written.
+     */
+    public MoveJournal(OutputStream out, Game game) throws IOException {
+        this.out = new BufferedOutputStream(out, 1 << 13);
+        GameMode mode = game.getConfig().getMode();
+        DataOutputStream header = new DataOutputStream(this.out);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(mode == null ? -1 : mode.ordinal());
+        header.writeInt(game.getRows());
+        header.writeInt(game.getColumns());
+        header.writeInt(game.getNumMines());
+        header.writeLong(game.getSeed());
+    }
+
+    /**
+     * Appends a move to the journal.
+     *
+     * @param type  The type of the move: {@link #REVEAL}, {@link #FLAG} or {@link #UNFLAG}.
+     * @param index The flat index of the cell.
+     * @throws UncheckedIOException if the move cannot be written.
+     */
+    void record(int type, int index) {
+        long value = ((long) index << 2) | type;
+        int length = 0;
+        while ((value & ~0x7FL) != 0) {
+            entry[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        entry[length++] = (byte) value;
+        try {
+            out.write(entry, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        moveCount++;
+    }
+
+    /**
+     * Returns the number of moves recorded so far.
+     *
+     * @return the number of moves.
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Writes the buffered moves to the underlying stream.
+     *
+     * @throws IOException if the moves cannot be written.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Writes the buffered moves and closes the underlying stream.
+     *
+     * @throws IOException if the moves cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.minesweeper.model;
+
+/**
+ * The Neighborhood class enumerates the neighbors of a cell of a grid by flat index, without allocating.
+ * <p>
+ * The flat index offsets of the eight neighbors are computed once per grid. For a cell away from the border
+ * all eight neighbors exist and are found by adding the offsets, in a fixed loop the JIT can unroll; only
+ * cells on the border take the bounds-checked path. Neighbors are always listed in ascending index order,
+ * i.e. row by row.
+ */
+public final class Neighborhood {
+    /**
+     * The largest number of neighbors a cell can have.
+     */
+    public static final int MAX_NEIGHBORS = 8;
+
+    private final int rows;
+    private final int columns;
+    private final int[] offsets;
+
+    /**
+     * Constructs the neighborhood of a grid with the specified number of rows and columns.
+     *
+     * @param rows    The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public Neighborhood(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.offsets = new int[] {
+                -columns - 1, -columns, -columns + 1,
+                -1, 1,
+                columns - 1, columns, columns + 1
+        };
+    }
+
+    /**
+     * Writes the flat indices of the neighbors of the specified cell to the given array.
+     *
+     * @param index The flat index of the cell.
+     * @param out   The array receiving the neighbors, with room for at least {@link #MAX_NEIGHBORS} elements.
+     * @return the number of neighbors written.
+     */
+    public int neighbors(int index, int[] out) {
+        int row = index / columns;
+        int column = index - row * columns;
+        if (row > 0 && row < rows - 1 && column > 0 && column < columns - 1) {
+            for (int k = 0; k < MAX_NEIGHBORS; k++) {
+                out[k] = index + offsets[k];
+            }
+            return MAX_NEIGHBORS;
+        }
+        int count = 0;
+        int fromRow = Math.max(row - 1, 0);
+        int toRow = Math.min(row + 1, rows - 1);
+        int fromColumn = Math.max(column - 1, 0);
+        int toColumn = Math.min(column + 1, columns - 1);
+        for (int r = fromRow; r <= toRow; r++) {
+            int rowStart = r * columns;
+            for (int c = fromColumn; c <= toColumn; c++) {
+                int neighbor = rowStart + c;
+                if (neighbor != index) {
+                    out[count++] = neighbor;
+                }
+            }
+        }
+        return count;
+    }
+}
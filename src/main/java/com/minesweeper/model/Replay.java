@@ -0,0 +1,246 @@
+package com.minesweeper.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Replay class rebuilds the states of a game recorded by a {@link MoveJournal}.
+ * <p>
+ * The state after any number of moves is obtained by re-applying the moves to a fresh {@link Game} with the
+ * recorded configuration and seed, which places the same mines on the same first reveal. While moves are re-applied, a snapshot of the
+ * board is kept every {@link #getSnapshotInterval()} moves, so that seeking into a long game only replays the
+ * moves since the nearest earlier snapshot. A snapshot takes one byte per cell, so on large boards the interval
+ * is raised until all snapshots of the game fit in {@link #MAX_SNAPSHOT_BYTES}.
+ */
+public final class Replay {
+    /**
+     * The default number of moves between two snapshots.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 1024;
+
+    /**
+     * The largest number of bytes all snapshots of a replay may take together.
+     */
+    public static final long MAX_SNAPSHOT_BYTES = 256L << 20;
+
+    private final GameConfig config;
+    private final int[] indices;
+    private final byte[] types;
+    private final int snapshotInterval;
+    private final List<Snapshot> snapshots = new ArrayList<>();
+
+    /**
+     * A copy of the board after a multiple of the snapshot interval moves.
+     */
+    private static final class Snapshot {
+        private final Board board;
+        private final boolean gameOver;
+        private final boolean minesPlaced;
+
+        private Snapshot(Game game) {
+            this.board = game.getBoard().copy();
+            this.gameOver = game.GameOver();
+            this.minesPlaced = game.areMinesPlaced();
+        }
+    }
+
+    private Replay(GameConfig config, int[] indices, byte[] types, int snapshotInterval) {
+        this.config = config;
+        this.indices = indices;
+        this.types = types;
+        // The initial board is always kept; the other snapshots share what is left of the budget
+        long cells = (long) config.getRows() * config.getColumns();
+        long maxSnapshots = Math.max(MAX_SNAPSHOT_BYTES / cells - 1, 1);
+        long minInterval = (indices.length + maxSnapshots - 1) / maxSnapshots;
+        this.snapshotInterval = (int) Math.max(snapshotInterval, minInterval);
+        Game initial = new Game(config);
+        snapshots.add(new Snapshot(initial));
+    }
+
+    /**
+     * Reads a journal with the default snapshot interval.
+     *
+     * @param in The stream the journal is read from.
+     * @return the replay of the recorded game.
+     * @throws IOException if the journal cannot be read or is not valid.
+     */
+    public static Replay read(InputStream in) throws IOException {
+        return read(in, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Reads a journal. A journal that ends in the middle of a move, as after a crash, is read up to its last
+     * complete move.
+     *
+     * @param in               The stream the journal is read from.
+     * @param snapshotInterval The number of moves between two snapshots, raised if the snapshots would not fit
+     *                         in {@link #MAX_SNAPSHOT_BYTES}.
+     * @return the replay of the recorded game.
+     * @throws IOException if the journal cannot be read or is not valid.
+     */
+    public static Replay read(InputStream in, int snapshotInterval) throws IOException {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Invalid snapshot interval: " + snapshotInterval);
+        }
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 13));
+        if (data.readInt() != MoveJournal.MAGIC) {
+            throw new IOException("Not a minesweeper move journal");
+        }
+        int version = data.readUnsignedByte();
+        if (version != MoveJournal.VERSION) {
+            throw new IOException("Unsupported move journal version " + version);
+        }
+        int modeOrdinal = data.readByte();
+        int rows = data.readInt();
+        int columns = data.readInt();
+        int numMines = data.readInt();
+        long seed = data.readLong();
+        GameConfig config;
+        try {
+            config = modeOrdinal >= 0
+                    ? GameConfig.of(GameMode.values()[modeOrdinal]).withSeed(seed)
+                    : GameConfig.custom(rows, columns, numMines, seed);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Invalid move journal header", e);
+        }
+
+        long cells = (long) rows * columns;
+        int[] indices = new int[64];
+        byte[] types = new byte[64];
+        int count = 0;
+        while (true) {
+            long value = readVarint(data);
+            if (value < 0) {
+                break;
+            }
+            int type = (int) (value & 3);
+            long index = value >>> 2;
+            if (type > MoveJournal.UNFLAG || index >= cells) {
+                throw new IOException("Invalid move " + count + " in move journal");
+            }
+            if (count == indices.length) {
+                indices = Arrays.copyOf(indices, count * 2);
+                types = Arrays.copyOf(types, count * 2);
+            }
+            indices[count] = (int) index;
+            types[count] = (byte) type;
+            count++;
+        }
+        return new Replay(config, Arrays.copyOf(indices, count), Arrays.copyOf(types, count), snapshotInterval);
+    }
+
+    /**
+     * Reads one varint.
+     *
+     * @return the value, or -1 at the end of the stream or of the last complete move.
+     */
+    private static long readVarint(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.read();
+            if (b < 0) {
+                return -1;
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("Malformed varint in move journal");
+    }
+
+    /**
+     * Returns the configuration of the recorded game, including its seed.
+     *
+     * @return the game configuration.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the number of recorded moves.
+     *
+     * @return the number of moves.
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * Returns the number of moves between two snapshots, which may be larger than the requested interval
+     * on large boards.
+     *
+     * @return the snapshot interval.
+     */
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Returns the type of the specified move.
+     *
+     * @param move The number of the move, starting at 0.
+     * @return {@link MoveJournal#REVEAL}, {@link MoveJournal#FLAG} or {@link MoveJournal#UNFLAG}.
+     */
+    public int getType(int move) {
+        return types[move];
+    }
+
+    /**
+     * Returns the flat index of the cell of the specified move.
+     *
+     * @param move The number of the move, starting at 0.
+     * @return the flat index ({@code row * columns + column}) of the cell.
+     */
+    public int getIndex(int move) {
+        return indices[move];
+    }
+
+    /**
+     * Rebuilds the game as it was after the specified number of moves. Each call returns a new game that can
+     * be played on independently.
+     *
+     * @param moveCount The number of moves to apply, from 0 for the initial board to {@link #size()}.
+     * @return the game after the moves.
+     * @throws IndexOutOfBoundsException if the move count is negative or larger than the number of moves.
+     */
+    public Game gameAt(int moveCount) {
+        if (moveCount < 0 || moveCount > indices.length) {
+            throw new IndexOutOfBoundsException("Move: " + moveCount + ", Size: " + indices.length);
+        }
+        int nearest = Math.min(moveCount / snapshotInterval, snapshots.size() - 1);
+        Snapshot snapshot = snapshots.get(nearest);
+        Game game = new Game(config, snapshot.board, snapshot.gameOver, snapshot.minesPlaced);
+        for (int move = nearest * snapshotInterval; move < moveCount; move++) {
+            apply(game, move);
+            int applied = move + 1;
+            if (applied % snapshotInterval == 0 && applied / snapshotInterval == snapshots.size()) {
+                snapshots.add(new Snapshot(game));
+            }
+        }
+        return game;
+    }
+
+    private void apply(Game game, int move) {
+        int index = getIndex(move);
+        Cell cell = game.getCell(index / game.getColumns(), index % game.getColumns());
+        switch (getType(move)) {
+            case MoveJournal.REVEAL:
+                game.revealCell(cell);
+                break;
+            case MoveJournal.FLAG:
+                game.flagCell(cell);
+                break;
+            default:
+                game.unflagCell(cell);
+                break;
+        }
+    }
+}
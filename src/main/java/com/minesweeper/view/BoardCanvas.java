@@ -0,0 +1,309 @@
+package com.minesweeper.view;
+
+import com.minesweeper.controller.GameController;
+import com.minesweeper.model.Game;
+
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+/**
+ * The BoardCanvas class displays the Minesweeper game grid in a single component instead of one
+ * {@link CellButton} per cell. The grid is painted from the game model, mouse clicks are mapped to cells
+ * arithmetically, and a change of a cell only repaints the rectangle of that cell.
+ * <p>
+ * Painting only visits the cells that intersect the clip rectangle, so repainting a few cells costs the same
+ * on any board size.
+ * <p>
+ * The canvas paints from its own copy of the cell states, one byte per cell, which only the Event Dispatch
+ * Thread reads and writes. The copy is updated from the states recorded in a {@link RevealBatch}, or from the
+ * game when the Event Dispatch Thread owns it, so a repaint caused by scrolling or zooming never reads a board
+ * that the solver thread is writing to.
+ * <p>
+ * Inside a {@link JScrollPane} only the visible part of the grid is painted, so the cost of painting does not
+ * depend on the size of the board. Scrolling the mouse wheel with Ctrl held down
+ * zooms in or out around the cell under the pointer.
+ */
+public class BoardCanvas extends JComponent implements BoardView, Scrollable {
+    /**
+     * The smallest cell size in pixels.
+     */
+    public static final int MIN_CELL_SIZE = 2;
+    /**
+     * The largest cell size in pixels.
+     */
+    public static final int MAX_CELL_SIZE = 64;
+
+    private static final Color HIDDEN_COLOR = Color.LIGHT_GRAY;
+    private static final Color FLAGGED_COLOR = Color.ORANGE;
+    private static final Color REVEALED_COLOR = Color.WHITE;
+    private static final Color MINE_COLOR = Color.RED;
+    private static final Color GRID_COLOR = Color.GRAY;
+
+    private final Game game;
+    private final GameController gameController;
+    private final byte[] shown;
+    private int cellSize;
+    private boolean allRevealed;
+
+    /**
+     * Constructs a new BoardCanvas that displays the specified game.
+     *
+     * @param game           The game whose grid is displayed.
+     * @param gameController The game controller to handle the clicks on the grid.
+     * @param cellSize       The width and height of a cell in pixels.
+     */
+    public BoardCanvas(Game game, GameController gameController, int cellSize) {
+        this.game = game;
+        this.gameController = gameController;
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.min(cellSize, MAX_CELL_SIZE));
+        this.shown = new byte[game.getRows() * game.getColumns()];
+        copyFromGame();
+        setOpaque(true);
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                zoom(e);
+            } else {
+                forwardToScrollPane(e);
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = e.getY() / BoardCanvas.this.cellSize;
+                int column = e.getX() / BoardCanvas.this.cellSize;
+                if (e.getX() < 0 || e.getY() < 0 || row >= game.getRows() || column >= game.getColumns()) {
+                    return;
+                }
+                if (SwingUtilities.isLeftMouseButton(e)) {
+                    gameController.handleLeftClick(row, column);
+                } else if (SwingUtilities.isRightMouseButton(e)) {
+                    gameController.handleRightClick(row, column);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(game.getColumns() * cellSize, game.getRows() * cellSize);
+    }
+
+    /**
+     * Returns the current width and height of a cell.
+     *
+     * @return the cell size in pixels.
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Changes the width and height of a cell, keeping the given point of the component at the same place
+     * in the enclosing viewport.
+     *
+     * @param newCellSize The new cell size in pixels, clamped to the allowed range.
+     * @param anchor      The point of the component, in the current scale, that stays in place.
+     */
+    public void setCellSize(int newCellSize, Point anchor) {
+        newCellSize = Math.max(MIN_CELL_SIZE, Math.min(newCellSize, MAX_CELL_SIZE));
+        if (newCellSize == cellSize) {
+            return;
+        }
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        Point viewPosition = viewport != null ? viewport.getViewPosition() : new Point();
+        double scale = (double) newCellSize / cellSize;
+        int offsetX = anchor.x - viewPosition.x;
+        int offsetY = anchor.y - viewPosition.y;
+        cellSize = newCellSize;
+
+        Dimension size = getPreferredSize();
+        setSize(size);
+        revalidate();
+        if (viewport != null) {
+            Dimension extent = viewport.getExtentSize();
+            int x = (int) Math.round(anchor.x * scale) - offsetX;
+            int y = (int) Math.round(anchor.y * scale) - offsetY;
+            x = Math.max(0, Math.min(x, size.width - extent.width));
+            y = Math.max(0, Math.min(y, size.height - extent.height));
+            viewport.setViewSize(size);
+            viewport.setViewPosition(new Point(x, y));
+        }
+        repaint();
+    }
+
+    /**
+     * Zooms in or out by a quarter of the cell size per wheel notch, around the pointer.
+     */
+    private void zoom(MouseWheelEvent e) {
+        int notches = e.getWheelRotation();
+        int newCellSize = cellSize;
+        for (int i = 0; i < Math.abs(notches); i++) {
+            int step = Math.max(1, newCellSize / 4);
+            newCellSize += notches < 0 ? step : -step;
+        }
+        setCellSize(newCellSize, e.getPoint());
+    }
+
+    /**
+     * Passes a wheel event on to the enclosing scroll pane, which would not receive it otherwise because
+     * this component listens to the wheel.
+     */
+    private void forwardToScrollPane(MouseWheelEvent e) {
+        Component scrollPane = SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+        if (scrollPane != null) {
+            scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, scrollPane));
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension size = getPreferredSize();
+        return new Dimension(Math.min(size.width, 40 * cellSize), Math.min(size.height, 25 * cellSize));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return cellSize;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        int extent = orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+        return Math.max(cellSize, extent - cellSize);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    @Override
+    public void cellChanged(int row, int column) {
+        int index = row * game.getColumns() + column;
+        shown[index] = RevealBatch.stateOf(game, index);
+        repaint(column * cellSize, row * cellSize, cellSize, cellSize);
+    }
+
+    /**
+     * Copies the states recorded in the batch and repaints the rectangle that bounds its cells.
+     *
+     * @param batch The cells that changed.
+     */
+    @Override
+    public void cellsChanged(RevealBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            shown[batch.getIndex(i)] = batch.getState(i);
+        }
+        repaint(batch.getMinColumn() * cellSize, batch.getMinRow() * cellSize,
+                (batch.getMaxColumn() - batch.getMinColumn() + 1) * cellSize,
+                (batch.getMaxRow() - batch.getMinRow() + 1) * cellSize);
+    }
+
+    @Override
+    public void refresh() {
+        copyFromGame();
+        repaint();
+    }
+
+    @Override
+    public void revealAll() {
+        copyFromGame();
+        allRevealed = true;
+        repaint();
+    }
+
+    /**
+     * Copies the state of every cell from the game.
+     */
+    private void copyFromGame() {
+        for (int index = 0; index < shown.length; index++) {
+            shown[index] = RevealBatch.stateOf(game, index);
+        }
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return this;
+    }
+
+    /**
+     * Paints the cells that intersect the clip rectangle.
+     *
+     * @param g The graphics context to paint on.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(HIDDEN_COLOR);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int fromRow = Math.max(clip.y / cellSize, 0);
+        int toRow = Math.min((clip.y + clip.height - 1) / cellSize, game.getRows() - 1);
+        int fromColumn = Math.max(clip.x / cellSize, 0);
+        int toColumn = Math.min((clip.x + clip.width - 1) / cellSize, game.getColumns() - 1);
+        FontMetrics metrics = g.getFontMetrics();
+        int columns = game.getColumns();
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                paintCell(g, metrics, row * columns + column, column * cellSize, row * cellSize);
+            }
+        }
+    }
+
+    /**
+     * Paints the cell at the specified flat index with its top left corner at the specified position, the same
+     * way a {@link CellButton} shows it.
+     */
+    private void paintCell(Graphics g, FontMetrics metrics, int index, int x, int y) {
+        int state = shown[index];
+        boolean revealed = allRevealed || (state & RevealBatch.REVEALED) != 0;
+        boolean mine = revealed && (state & RevealBatch.MINE) != 0;
+        if (mine) {
+            g.setColor(MINE_COLOR);
+        } else if (revealed) {
+            g.setColor(REVEALED_COLOR);
+        } else if ((state & RevealBatch.FLAGGED) != 0) {
+            g.setColor(FLAGGED_COLOR);
+        } else {
+            g.setColor(HIDDEN_COLOR);
+        }
+        g.fillRect(x, y, cellSize, cellSize);
+        if (cellSize >= 6) {
+            g.setColor(GRID_COLOR);
+            g.drawRect(x, y, cellSize - 1, cellSize - 1);
+        }
+
+        int count = revealed && !mine ? state & RevealBatch.COUNT_MASK : 0;
+        if (count > 0 && cellSize >= metrics.getHeight()) {
+            String text = String.valueOf(count);
+            g.setColor(Color.BLACK);
+            g.drawString(text, x + (cellSize - metrics.stringWidth(text)) / 2,
+                    y + (cellSize - metrics.getHeight()) / 2 + metrics.getAscent());
+        }
+    }
+}
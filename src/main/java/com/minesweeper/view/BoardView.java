@@ -0,0 +1,44 @@
+package com.minesweeper.view;
+
+import javax.swing.JComponent;
+
+/**
+ * The BoardView interface is implemented by the components that display the Minesweeper game grid.
+ * A view reads the state of the cells from the game model; the controller only tells it which cells changed.
+ * The exception is {@link #cellsChanged(RevealBatch)}, which applies the states recorded in the batch and may be
+ * called while another thread writes to the game.
+ */
+public interface BoardView {
+    /**
+     * Updates the display of the cell at the specified row and column from the game model.
+     *
+     * @param row    The row of the cell.
+     * @param column The column of the cell.
+     */
+    void cellChanged(int row, int column);
+
+    /**
+     * Updates the display of every cell of the batch from the states recorded in the batch, without reading
+     * the game model, in a single pass with one repaint of the rectangle that bounds the cells.
+     *
+     * @param batch The cells that changed.
+     */
+    void cellsChanged(RevealBatch batch);
+
+    /**
+     * Updates the display of every cell from the game model.
+     */
+    void refresh();
+
+    /**
+     * Shows every cell as revealed, including the mines.
+     */
+    void revealAll();
+
+    /**
+     * Returns the Swing component that displays the grid.
+     *
+     * @return the component to be added to the game window.
+     */
+    JComponent getComponent();
+}
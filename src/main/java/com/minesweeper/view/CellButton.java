@@ -17,8 +17,9 @@ public class CellButton extends JButton {
     private int column;
     private boolean isFlagged = false;
     private Color originalColor = Color.LIGHT_GRAY;
-    private Color flaggedColor = Color.RED;
+    private Color flaggedColor = Color.ORANGE;
     private GameController gameController;
+    private boolean repaintSuspended;
 
     /**
      * Constructs a new CellButton with the specified row, column, and game controller.
@@ -45,6 +46,44 @@ public class CellButton extends JButton {
         });
     }
 
+    /**
+     * Suspends or resumes the repaint and revalidate requests the button makes when its state changes.
+     * While they are suspended, the caller is responsible for repainting the area of the button, so that
+     * a batch of changed buttons can be repainted at once.
+     *
+     * @param repaintSuspended true to suspend the requests, false to resume them.
+     */
+    void setRepaintSuspended(boolean repaintSuspended) {
+        this.repaintSuspended = repaintSuspended;
+    }
+
+    /**
+     * Repaints the specified area of the button unless repaints are suspended.
+     *
+     * @param time   The maximum time in milliseconds before the update.
+     * @param x      The x coordinate of the area.
+     * @param y      The y coordinate of the area.
+     * @param width  The width of the area.
+     * @param height The height of the area.
+     */
+    @Override
+    public void repaint(long time, int x, int y, int width, int height) {
+        if (!repaintSuspended) {
+            super.repaint(time, x, y, width, height);
+        }
+    }
+
+    /**
+     * Revalidates the button unless repaints are suspended. The size of a button in the grid does not depend
+     * on its text, so a batch of changes does not need a new layout.
+     */
+    @Override
+    public void revalidate() {
+        if (!repaintSuspended) {
+            super.revalidate();
+        }
+    }
+
     /**
      * Reveals the cell as a mine by changing its background color to red.
      */
@@ -54,13 +93,14 @@ public class CellButton extends JButton {
 
     /**
      * Reveals the cell with the number of adjacent mines.
-     * Changes the background color to white and sets the text to the number of adjacent mines.
+     * Changes the background color to white and sets the text to the number of adjacent mines,
+     * or leaves it blank if there are none.
      *
      * @param adjacentMines The number of mines adjacent to this cell.
      */
     public void reveal(int adjacentMines) {
         setBackground(Color.WHITE);
-        setText(String.valueOf(adjacentMines));
+        setText(adjacentMines == 0 ? "" : String.valueOf(adjacentMines));
     }
 
     /**
@@ -2,21 +2,37 @@ package com.minesweeper.view;
 
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JButton;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
 
 import com.minesweeper.controller.GameController;
 
 import java.awt.BorderLayout;
+import java.awt.Dimension;
 import java.awt.FlowLayout;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 
 /**
  * The GameFrame class represents the main window of the Minesweeper game.
  * It initializes the user interface and handles interactions with the game controller.
  */
 public class GameFrame extends JFrame {
+    /**
+     * Boards with more cells than this are displayed by a {@link BoardCanvas} instead of one button per cell.
+     */
+    private static final int MAX_BUTTON_CELLS = 16 * 30;
+
     private JLabel flagsRemainingLabel;
-    private GamePanel gridPanel;
+    private JLabel solverStatusLabel;
+    private JButton solveButton;
+    private JButton revealAllButton;
+    private BoardView boardView;
     private GameController gameController;
 
     /**
@@ -32,14 +48,15 @@ public class GameFrame extends JFrame {
     /**
      * Initializes the user interface of the game window.
      * Creates the top panel with flags remaining and new game buttons, and the game grid panel.
-     * The game grid panel is populated with CellButton components.
+     * The game grid is displayed with CellButton components, or by a single BoardCanvas on large boards.
      * The window is centered on the screen and set to exit on close.
-     * The window size is calculated based on the number of rows and columns in the game grid.
+     * The window size is calculated based on the number of rows and columns in the game grid, up to the size
+     * of the screen; large boards are displayed in a scrollable, zoomable BoardCanvas.
      * The top panel contains the flags remaining label and new game button.
      * The game grid panel contains the CellButton components.
      * The flags remaining label is updated with the current number of flags remaining.
      * The new game button starts a new game with the same game mode.
-     * The solve button reveals all mines and flags on the game grid.
+     * The solve button starts the solver in the background, and stops it while it is running.
      * The reveal all button reveals all cells on the game grid.
      * The game grid panel is updated with the current game state.
      *
@@ -55,9 +72,11 @@ public class GameFrame extends JFrame {
         final int windowWidthPadding = 500; // Extra width for window decorations and padding
         final int windowHeightPadding = 500; // Extra height for window decorations, padding, and top panel
         
-        int windowWidth = columns * cellWidth + windowWidthPadding;
-        int windowHeight = rows * cellHeight + windowHeightPadding;
-        setSize(windowWidth, windowHeight);
+        // The window never grows past the screen; larger boards are scrolled
+        Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        long windowWidth = (long) columns * cellWidth + windowWidthPadding;
+        long windowHeight = (long) rows * cellHeight + windowHeightPadding;
+        setSize((int) Math.min(windowWidth, screen.width), (int) Math.min(windowHeight, screen.height));
 
         setLocationRelativeTo(null); // Center the window
 
@@ -67,16 +86,16 @@ public class GameFrame extends JFrame {
 
         JButton newGameButton = new JButton("New Game");
         newGameButton.addActionListener(e -> {
-            gameController.startNewGame(gameController.getGameMode());
+            gameController.startNewGame(gameController.getGameConfig());
             this.dispose(); // Close the current game 
         });
 
-        JButton solveButton = new JButton("Solve");
+        solveButton = new JButton("Solve");
         solveButton.addActionListener(e -> {
             gameController.solveGame();
         });
 
-        JButton revealAllButton = new JButton("Reveal All");
+        revealAllButton = new JButton("Reveal All");
         revealAllButton.addActionListener(e -> {
             gameController.revealAllCells();
         });
@@ -91,13 +110,20 @@ public class GameFrame extends JFrame {
         buttonPanel.add(revealAllButton);
         buttonPanel.add(mainMenuButton);
         topPanel.add(buttonPanel, BorderLayout.CENTER);
+        solverStatusLabel = new JLabel(" ");
+        topPanel.add(solverStatusLabel, BorderLayout.EAST);
 
 
 
         add(topPanel, BorderLayout.NORTH);
 
-        gridPanel = new GamePanel(rows, columns, this.gameController);
-        add(gridPanel, BorderLayout.CENTER);
+        if ((long) rows * columns > MAX_BUTTON_CELLS) {
+            boardView = new BoardCanvas(gameController.getGame(), this.gameController, cellWidth);
+            add(new JScrollPane(boardView.getComponent()), BorderLayout.CENTER);
+        } else {
+            boardView = new GamePanel(rows, columns, this.gameController);
+            add(boardView.getComponent(), BorderLayout.CENTER);
+        }
     }
 
     /**
@@ -109,15 +135,68 @@ public class GameFrame extends JFrame {
         this.flagsRemainingLabel.setText("Flags remaining: " + gameController.getFlagsRemaining());
     }
 
+    /**
+     * Switches the solve button between starting and stopping the solver. The reveal all button is disabled
+     * while the solver is running.
+     *
+     * @param solving true while the solver is running.
+     */
+    public void setSolving(boolean solving) {
+        solveButton.setText(solving ? "Stop" : "Solve");
+        revealAllButton.setEnabled(!solving);
+        if (solving) {
+            solverStatusLabel.setText("Solving...");
+        }
+    }
+
+    /**
+     * Shows the progress of the solver.
+     *
+     * @param moves          The number of moves made by the solver.
+     * @param movesPerSecond The average number of moves per second.
+     */
+    public void updateSolverProgress(long moves, double movesPerSecond) {
+        solverStatusLabel.setText(String.format("%d moves, %.0f moves/s", moves, movesPerSecond));
+    }
+
+    /**
+     * Shows that the solver stopped because of an exception, with its full stack trace.
+     *
+     * @param failure The exception thrown by the solver.
+     */
+    public void showSolverFailure(Throwable failure) {
+        solverStatusLabel.setText("Solver failed: " + failure);
+        StringWriter stackTrace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(stackTrace));
+        JTextArea text = new JTextArea(stackTrace.toString());
+        text.setEditable(false);
+        JScrollPane scrollPane = new JScrollPane(text);
+        scrollPane.setPreferredSize(new Dimension(600, 300));
+        JOptionPane.showMessageDialog(this, scrollPane, "Solver failed", JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Returns the CellButton component at the specified row and column.
      *
      * @param row    The row of the CellButton.
      * @param column The column of the CellButton.
-     * @return The CellButton component at the specified row and column, or null if not found.
+     * @return The CellButton component at the specified row and column, or null if not found or if the grid
+     *         is displayed without buttons.
      */
     public CellButton getCellButton(int row, int column) {
-        return gridPanel.getCellButton(row, column);
+        if (boardView instanceof GamePanel) {
+            return ((GamePanel) boardView).getCellButton(row, column);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the view that displays the game grid.
+     *
+     * @return the board view.
+     */
+    public BoardView getBoardView() {
+        return boardView;
     }
 }
 
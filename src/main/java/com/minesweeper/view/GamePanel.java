@@ -1,16 +1,27 @@
 package com.minesweeper.view;
 
 import com.minesweeper.controller.GameController;
+import com.minesweeper.model.Cell;
+import com.minesweeper.model.Game;
 
+import javax.swing.JComponent;
 import javax.swing.JPanel;
 import java.awt.GridLayout;
+import java.awt.Rectangle;
 
 /**
  * The GamePanel class represents the panel where the Minesweeper game grid is displayed.
  * It initializes the grid with CellButton components and provides methods to interact with them.
+ * The buttons are also kept in a flat array indexed by {@code row * columns + column}, so looking up the
+ * button of a cell takes constant time.
+ * <p>
+ * Changes that come in batches, such as a reveal cascade, are applied to the buttons with their own repaint
+ * and revalidate requests suspended, and the area of the batch is repainted once.
  */
-public class GamePanel extends JPanel {
+public class GamePanel extends JPanel implements BoardView {
     private GameController gameController;
+    private final int columns;
+    private final CellButton[] cellButtons;
 
      /**
      * Constructs a new GamePanel with the specified number of rows and columns.
@@ -22,6 +33,8 @@ public class GamePanel extends JPanel {
      */
     public GamePanel(int rows, int cols, GameController gameController) {
         this.gameController = gameController;
+        this.columns = cols;
+        this.cellButtons = new CellButton[rows * cols];
         setLayout(new GridLayout(rows, cols));
         initializeGrid(rows, cols);
     }
@@ -37,6 +50,7 @@ public class GamePanel extends JPanel {
         for (int row = 0; row < rows; row++) {
             for (int column = 0; column < cols; column++) {
                 CellButton cellButton = new CellButton(row, column, this.gameController);
+                cellButtons[row * cols + column] = cellButton;
                 add(cellButton);
             }
         }
@@ -50,12 +64,106 @@ public class GamePanel extends JPanel {
      * @return The CellButton component at the specified row and column, or null if not found.
      */
     public CellButton getCellButton(int row, int column) {
-        for (int i = 0; i < getComponentCount(); i++) {
-            CellButton cellButton = (CellButton) getComponent(i);
-            if (cellButton.getRow() == row && cellButton.getColumn() == column) {
-                return cellButton;
+        if (row < 0 || column < 0 || column >= columns || row * columns + column >= cellButtons.length) {
+            return null;
+        }
+        return cellButtons[row * columns + column];
+    }
+
+    @Override
+    public void cellChanged(int row, int column) {
+        Cell cell = gameController.getGame().getCell(row, column);
+        update(getCellButton(row, column), cell.isRevealed(), cell.isFlagged(), cell.getCount());
+    }
+
+    /**
+     * Shows the state of a cell on its button.
+     *
+     * @param cellButton    The button of the cell.
+     * @param revealed      Whether the cell is revealed.
+     * @param flagged       Whether the cell is flagged.
+     * @param adjacentMines The number of mines adjacent to the cell.
+     */
+    private static void update(CellButton cellButton, boolean revealed, boolean flagged, int adjacentMines) {
+        if (revealed) {
+            cellButton.reveal(adjacentMines);
+        } else if (flagged) {
+            cellButton.flag();
+        } else {
+            cellButton.unflag();
+        }
+    }
+
+    /**
+     * Updates the buttons of the batch in one pass without letting each button repaint or revalidate itself,
+     * then repaints the rectangle that bounds them once. The buttons show the states recorded in the batch,
+     * so the game is not read.
+     *
+     * @param batch The cells that changed.
+     */
+    @Override
+    public void cellsChanged(RevealBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            int row = batch.getRow(i);
+            int column = batch.getColumn(i);
+            CellButton cellButton = getCellButton(row, column);
+            cellButton.setRepaintSuspended(true);
+            try {
+                update(cellButton, batch.isRevealed(i), batch.isFlagged(i), batch.getAdjacentMines(i));
+            } finally {
+                cellButton.setRepaintSuspended(false);
             }
         }
-        return null;
+        Rectangle bounds = getCellButton(batch.getMinRow(), batch.getMinColumn()).getBounds();
+        bounds.add(getCellButton(batch.getMaxRow(), batch.getMaxColumn()).getBounds());
+        repaint(bounds);
+    }
+
+    /**
+     * Updates every button without letting each one repaint itself, then repaints the panel once.
+     */
+    @Override
+    public void refresh() {
+        Game game = gameController.getGame();
+        for (int index = 0; index < cellButtons.length; index++) {
+            CellButton cellButton = cellButtons[index];
+            cellButton.setRepaintSuspended(true);
+            try {
+                update(cellButton, game.isRevealed(index), game.isFlagged(index), game.getAdjacentMines(index));
+            } finally {
+                cellButton.setRepaintSuspended(false);
+            }
+        }
+        repaint();
+    }
+
+    /**
+     * Shows every cell as revealed. Mines are revealed with a mine color, and other cells show their adjacent
+     * mine count. The panel is repainted once.
+     */
+    @Override
+    public void revealAll() {
+        for (CellButton cellButton : cellButtons) {
+            Cell cell = gameController.getGame().getCell(cellButton.getRow(), cellButton.getColumn());
+            cellButton.setRepaintSuspended(true);
+            try {
+                if (cell.isMine()) {
+                    cellButton.revealMine();
+                } else {
+                    cellButton.reveal(cell.getCount());
+                }
+            } finally {
+                cellButton.setRepaintSuspended(false);
+            }
+        }
+        repaint();
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return this;
     }
 }
\ No newline at end of file
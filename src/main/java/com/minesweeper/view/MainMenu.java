@@ -3,7 +3,9 @@ package com.minesweeper.view;
 import javax.swing.*;
 import java.awt.*;
 
+import com.minesweeper.Player.BoardPool;
 import com.minesweeper.controller.GameController;
+import com.minesweeper.model.GameConfig;
 import com.minesweeper.model.GameMode;
 
 /**
@@ -13,6 +15,7 @@ import com.minesweeper.model.GameMode;
 public class MainMenu extends JFrame {
 
     private GameController gameController;
+    private JCheckBox noGuessBox;
 
      /**
      * Constructs a new MainMenu.
@@ -28,33 +31,45 @@ public class MainMenu extends JFrame {
      */
     private void initUI() {
         setTitle("Minesweeper Main Menu");
-        setSize(300, 200);
+        setSize(300, 250);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
 
         JButton easyModeButton = createCustomButton("Beginner");
         JButton mediumModeButton = createCustomButton("Intermediate");
         JButton hardModeButton = createCustomButton("Expert");
-        
+        JButton customModeButton = createCustomButton("Custom");
+        noGuessBox = new JCheckBox("No-guess boards");
+        noGuessBox.setToolTipText("Play boards that can be solved without guessing, starting with an opening");
+        noGuessBox.addActionListener(e -> {
+            if (noGuessBox.isSelected()) {
+                warmBoardPool();
+            }
+        });
 
         easyModeButton.addActionListener(e -> {
-            gameController = new GameController(GameMode.EASY); 
-            gameController.startNewGame(GameMode.EASY);
+            gameController = new GameController(GameConfig.of(GameMode.EASY), noGuessBox.isSelected());
             this.dispose(); 
         });
         
         mediumModeButton.addActionListener(e -> {
-            gameController = new GameController(GameMode.MEDIUM); 
-            gameController.startNewGame(GameMode.MEDIUM);
+            gameController = new GameController(GameConfig.of(GameMode.MEDIUM), noGuessBox.isSelected());
             this.dispose(); 
         });
         
         hardModeButton.addActionListener(e -> {
-            gameController = new GameController(GameMode.HARD); 
-            gameController.startNewGame(GameMode.HARD);
+            gameController = new GameController(GameConfig.of(GameMode.HARD), noGuessBox.isSelected());
             this.dispose(); 
         });
 
+        customModeButton.addActionListener(e -> {
+            GameConfig config = askCustomConfig();
+            if (config != null) {
+                gameController = new GameController(config, noGuessBox.isSelected());
+                this.dispose();
+            }
+        });
+
         setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.gridwidth = GridBagConstraints.REMAINDER;
@@ -62,6 +77,50 @@ public class MainMenu extends JFrame {
         add(easyModeButton, gbc);
         add(mediumModeButton, gbc);
         add(hardModeButton, gbc);
+        add(customModeButton, gbc);
+        add(noGuessBox, gbc);
+    }
+
+    /**
+     * Starts filling the pools of no-guess boards of the standard modes, so that the first game of the chosen
+     * mode can be taken from its pool.
+     */
+    private void warmBoardPool() {
+        for (GameMode mode : GameMode.values()) {
+            BoardPool.getDefault().refill(GameConfig.of(mode));
+        }
+    }
+
+    /**
+     * Shows a dialog asking for the rows, columns and number of mines of a custom board.
+     *
+     * @return the custom configuration, or null if the dialog was cancelled or the input is invalid
+     */
+    private GameConfig askCustomConfig() {
+        JTextField rowsField = new JTextField("30");
+        JTextField columnsField = new JTextField("50");
+        JTextField minesField = new JTextField("300");
+        JPanel panel = new JPanel(new GridLayout(3, 2));
+        panel.add(new JLabel("Rows:"));
+        panel.add(rowsField);
+        panel.add(new JLabel("Columns:"));
+        panel.add(columnsField);
+        panel.add(new JLabel("Mines:"));
+        panel.add(minesField);
+
+        int result = JOptionPane.showConfirmDialog(this, panel, "Custom Board", JOptionPane.OK_CANCEL_OPTION);
+        if (result != JOptionPane.OK_OPTION) {
+            return null;
+        }
+        try {
+            return GameConfig.custom(Integer.parseInt(rowsField.getText().trim()),
+                    Integer.parseInt(columnsField.getText().trim()),
+                    Integer.parseInt(minesField.getText().trim()));
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid board: " + ex.getMessage(), "Custom Board",
+                    JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
     }
 
      /**
@@ -0,0 +1,240 @@
+package com.minesweeper.view;
+
+import com.minesweeper.model.Game;
+
+import java.util.Arrays;
+
+/**
+ * The RevealBatch class is a change-set of cells whose display must be updated, such as all cells revealed
+ * by one reveal cascade. A {@link BoardView} applies a batch in a single pass and repaints the rectangle
+ * that bounds its cells once, instead of repainting cell by cell.
+ * <p>
+ * The state of every cell is recorded when it is added, on the thread that changed the game, and views
+ * apply that recorded state instead of reading the game. A batch built by a solver thread can therefore be
+ * handed to the Event Dispatch Thread while the solver keeps writing to the game: once published, a batch is
+ * no longer modified, and nothing in it refers to the live board.
+ */
+public final class RevealBatch {
+    /**
+     * The bits of a recorded state that hold the number of adjacent mines.
+     */
+    static final int COUNT_MASK = 0x0F;
+    /**
+     * The bit of a recorded state that is set if the cell is a mine.
+     */
+    static final int MINE = 0x10;
+    /**
+     * The bit of a recorded state that is set if the cell is revealed.
+     */
+    static final int REVEALED = 0x20;
+    /**
+     * The bit of a recorded state that is set if the cell is flagged.
+     */
+    static final int FLAGGED = 0x40;
+
+    private final Game game;
+    private final int columns;
+    private int[] indices;
+    private byte[] states;
+    private int size;
+    private int minRow = Integer.MAX_VALUE;
+    private int maxRow = -1;
+    private int minColumn = Integer.MAX_VALUE;
+    private int maxColumn = -1;
+
+    /**
+     * Constructs a new empty RevealBatch for the cells of the specified game.
+     *
+     * @param game     The game whose cells are collected.
+     * @param capacity The expected number of cells.
+     */
+    public RevealBatch(Game game, int capacity) {
+        this.game = game;
+        this.columns = game.getColumns();
+        this.indices = new int[Math.max(capacity, 8)];
+        this.states = new byte[indices.length];
+    }
+
+    /**
+     * Creates a batch of the cells revealed by the last reveal of the specified game.
+     * The cells are copied, so the batch stays valid after the next reveal.
+     *
+     * @param game The game whose last reveal is collected.
+     * @return the batch of newly revealed cells.
+     */
+    public static RevealBatch ofNewlyRevealed(Game game) {
+        int count = game.getNewlyRevealedCount();
+        RevealBatch batch = new RevealBatch(game, count);
+        for (int i = 0; i < count; i++) {
+            batch.add(game.getNewlyRevealedIndex(i));
+        }
+        return batch;
+    }
+
+    /**
+     * Records the current state of the cell at the specified flat index in the batch. Must be called on the
+     * thread that writes to the game.
+     *
+     * @param index The flat index ({@code row * columns + column}) of the cell.
+     */
+    public void add(int index) {
+        if (size == indices.length) {
+            indices = Arrays.copyOf(indices, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+        indices[size] = index;
+        states[size] = stateOf(game, index);
+        size++;
+        int row = index / columns;
+        int column = index - row * columns;
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minColumn = Math.min(minColumn, column);
+        maxColumn = Math.max(maxColumn, column);
+    }
+
+    /**
+     * Returns the number of cells in the batch.
+     *
+     * @return the number of cells.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the batch contains no cells.
+     *
+     * @return true if the batch is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reads the state of the cell at the specified flat index of the game, in the form recorded by a batch.
+     *
+     * @param game  The game.
+     * @param index The flat index of the cell.
+     * @return the state of the cell, made of {@link #MINE}, {@link #REVEALED}, {@link #FLAGGED} and the count.
+     */
+    static byte stateOf(Game game, int index) {
+        int state = game.getAdjacentMines(index);
+        if (game.isMine(index)) {
+            state |= MINE;
+        }
+        if (game.isRevealed(index)) {
+            state |= REVEALED;
+        }
+        if (game.isFlagged(index)) {
+            state |= FLAGGED;
+        }
+        return (byte) state;
+    }
+
+    /**
+     * Returns the flat index of the i-th cell of the batch.
+     *
+     * @param i The position of the cell in the batch.
+     * @return the flat index of the cell.
+     */
+    public int getIndex(int i) {
+        return indices[i];
+    }
+
+    /**
+     * Returns the state of the i-th cell of the batch, as recorded when it was added.
+     *
+     * @param i The position of the cell in the batch.
+     * @return the recorded state of the cell.
+     */
+    byte getState(int i) {
+        return states[i];
+    }
+
+    /**
+     * Checks if the i-th cell of the batch was revealed when it was added.
+     *
+     * @param i The position of the cell in the batch.
+     * @return true if the cell was revealed, false otherwise.
+     */
+    public boolean isRevealed(int i) {
+        return (states[i] & REVEALED) != 0;
+    }
+
+    /**
+     * Checks if the i-th cell of the batch was flagged when it was added.
+     *
+     * @param i The position of the cell in the batch.
+     * @return true if the cell was flagged, false otherwise.
+     */
+    public boolean isFlagged(int i) {
+        return (states[i] & FLAGGED) != 0;
+    }
+
+    /**
+     * Returns the number of mines adjacent to the i-th cell of the batch.
+     *
+     * @param i The position of the cell in the batch.
+     * @return the number of adjacent mines.
+     */
+    public int getAdjacentMines(int i) {
+        return states[i] & COUNT_MASK;
+    }
+
+    /**
+     * Returns the row of the i-th cell of the batch.
+     *
+     * @param i The position of the cell in the batch.
+     * @return the row of the cell.
+     */
+    public int getRow(int i) {
+        return indices[i] / columns;
+    }
+
+    /**
+     * Returns the column of the i-th cell of the batch.
+     *
+     * @param i The position of the cell in the batch.
+     * @return the column of the cell.
+     */
+    public int getColumn(int i) {
+        return indices[i] % columns;
+    }
+
+    /**
+     * Returns the first row of the rectangle bounding the cells of the batch.
+     *
+     * @return the smallest row of a cell in the batch.
+     */
+    public int getMinRow() {
+        return minRow;
+    }
+
+    /**
+     * Returns the last row of the rectangle bounding the cells of the batch.
+     *
+     * @return the largest row of a cell in the batch.
+     */
+    public int getMaxRow() {
+        return maxRow;
+    }
+
+    /**
+     * Returns the first column of the rectangle bounding the cells of the batch.
+     *
+     * @return the smallest column of a cell in the batch.
+     */
+    public int getMinColumn() {
+        return minColumn;
+    }
+
+    /**
+     * Returns the last column of the rectangle bounding the cells of the batch.
+     *
+     * @return the largest column of a cell in the batch.
+     */
+    public int getMaxColumn() {
+        return maxColumn;
+    }
+}
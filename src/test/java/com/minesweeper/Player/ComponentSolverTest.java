@@ -0,0 +1,71 @@
+package com.minesweeper.Player;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the ComponentSolver class.
+ */
+public class ComponentSolverTest
+{
+    /**
+     * Builds a component of one free cell followed by the specified number of triples of cells, each triple
+     * holding exactly one mine. With at most one mine per triple the free cell is always safe, but refuting it
+     * means proving that the triples cannot share fewer mines, which takes exponential time.
+     */
+    private static Component hardComponent(int triples)
+    {
+        int size = 1 + 3 * triples;
+        int[] cells = new int[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = i;
+        }
+        int[] constraintCells = new int[triples];
+        int[][] constraints = new int[triples][];
+        int[] targets = new int[triples];
+        for (int t = 0; t < triples; t++) {
+            constraintCells[t] = size + t;
+            constraints[t] = new int[] {1 + 3 * t, 2 + 3 * t, 3 + 3 * t};
+            targets[t] = 1;
+        }
+        return new Component(cells, constraintCells, constraints, targets);
+    }
+
+    @Test
+    public void findsTheBackboneOfASmallComponent()
+    {
+        // Cells 0 and 1 share a 1 and cells 1 and 2 a 2: cell 1 and 2 are mines and cell 0 is safe
+        Component component = new Component(new int[] {0, 1, 2}, new int[] {3, 4},
+                new int[][] {{0, 1}, {1, 2}}, new int[] {1, 2});
+        byte[] backbone = new ComponentSolver(component, 0, 3).findBackbone(System.nanoTime() + 10_000_000_000L);
+        assertArrayEquals(new byte[] {ComponentSolver.SAFE, ComponentSolver.MINE, ComponentSolver.MINE}, backbone);
+    }
+
+    @Test(timeout = 30_000)
+    public void refutationsStopAtTheDeadline()
+    {
+        int triples = 40;
+        for (long budgetMillis : new long[] {200, 1}) {
+            ComponentSolver solver = new ComponentSolver(hardComponent(triples), 0, triples);
+            long start = System.nanoTime();
+            byte[] backbone = solver.findBackbone(start + budgetMillis * 1_000_000L);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            assertTrue("took " + elapsedMillis + " ms with a budget of " + budgetMillis + " ms",
+                    elapsedMillis < budgetMillis + 2_000);
+            if (backbone != null) {
+                byte[] undecided = new byte[backbone.length];
+                Arrays.fill(undecided, ComponentSolver.UNDECIDED);
+                assertArrayEquals(undecided, backbone);
+            } else {
+                // Only a search stopped before its first solution may report nothing
+                assertEquals(1, budgetMillis);
+            }
+        }
+    }
+}
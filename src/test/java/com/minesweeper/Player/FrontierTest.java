@@ -0,0 +1,101 @@
+package com.minesweeper.Player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.minesweeper.model.Cell;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+
+/**
+ * Unit tests for the Frontier class.
+ */
+public class FrontierTest
+{
+    @Test
+    public void componentsCoverExactlyTheUnknownCellsNextToNumbers()
+    {
+        Game game = new Game(GameConfig.custom(30, 40, 150, 3L));
+        Frontier frontier = new Frontier(game);
+        int columns = game.getColumns();
+        for (int index = 0; index < 30 * 40; index += 7) {
+            Cell cell = game.getCell(index / columns, index % columns);
+            if (cell.isRevealed()) {
+                continue;
+            }
+            if (cell.isMine()) {
+                cell.flag();
+                frontier.update(index);
+            } else {
+                game.revealCell(cell);
+                for (int i = 0; i < game.getNewlyRevealedCount(); i++) {
+                    frontier.update(game.getNewlyRevealedIndex(i));
+                }
+            }
+        }
+
+        boolean[] inComponent = new boolean[30 * 40];
+        List<Component> components = frontier.components();
+        for (Component component : components) {
+            for (int index : component.cells) {
+                inComponent[index] = true;
+            }
+            for (int i = 0; i < component.targets.length; i++) {
+                assertTrue(component.targets[i] <= component.constraints[i].length);
+            }
+        }
+
+        int unknown = 0;
+        for (int index = 0; index < 30 * 40; index++) {
+            Cell cell = game.getCell(index / columns, index % columns);
+            boolean isUnknown = !cell.isRevealed() && !cell.isFlagged();
+            if (isUnknown) {
+                unknown++;
+            }
+            boolean nextToNumber = false;
+            for (Cell neighbor : game.getNeighbors(cell)) {
+                nextToNumber |= neighbor.isRevealed();
+            }
+            assertEquals(isUnknown && nextToNumber, inComponent[index]);
+        }
+        assertEquals(unknown, frontier.getUnknownCount());
+    }
+
+    @Test
+    public void findsInteriorCellsWithoutRescanningTheBoard()
+    {
+        // 1x6 board with mines at both ends: revealing (0,2) shows a 0 and cascades over (0,1) to (0,4)
+        Game game = new Game(GameConfig.custom(1, 6, 2, 1L));
+        game.getCell(0, 0).setMine();
+        game.getCell(0, 5).setMine();
+        game.setCounts();
+        Frontier frontier = new Frontier(game);
+        assertEquals(0, frontier.findInteriorCell());
+
+        game.flagCell(game.getCell(0, 0));
+        frontier.update(0);
+        assertEquals(1, frontier.findInteriorCell());
+        game.unflagCell(game.getCell(0, 0));
+        frontier.update(0);
+        assertEquals(0, frontier.findInteriorCell());
+        game.flagCell(game.getCell(0, 0));
+        frontier.update(0);
+
+        game.revealCell(game.getCell(0, 2));
+        for (int i = 0; i < game.getNewlyRevealedCount(); i++) {
+            frontier.update(game.getNewlyRevealedIndex(i));
+        }
+        // (0,5) borders the revealed (0,4), so no unknown cell is interior
+        assertEquals(-1, frontier.findInteriorCell());
+
+        // A removed flag next to a revealed number stays on the frontier
+        game.unflagCell(game.getCell(0, 0));
+        frontier.update(0);
+        assertEquals(-1, frontier.findInteriorCell());
+        assertEquals(2, frontier.getUnknownCount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.minesweeper.Player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+import com.minesweeper.model.GameMode;
+
+/**
+ * Unit tests for the NoGuessGenerator and BoardPool classes.
+ */
+public class NoGuessGeneratorTest
+{
+    @Test
+    public void generatedBoardsAreWonWithoutGuessing()
+    {
+        NoGuessGenerator generator = new NoGuessGenerator(GameConfig.of(GameMode.MEDIUM));
+        SplittableRandom random = new SplittableRandom(8);
+        for (int board = 0; board < 5; board++) {
+            Game game = generator.generate(random);
+            assertNotNull(game);
+            assertTrue(game.getCell(generator.getOpeningRow(), generator.getOpeningColumn()).isRevealed());
+
+            Player player = new Player(game);
+            player.setGuessing(false);
+            player.play();
+            assertTrue(game.isWon());
+        }
+    }
+
+    @Test
+    public void candidatesThatRunPastTheBudgetAreRejected()
+    {
+        GameConfig config = GameConfig.of(GameMode.MEDIUM);
+        NoGuessGenerator generator = new NoGuessGenerator(config);
+        // With no time per move, every move that needs the solver runs past the budget
+        NoGuessGenerator impatient = new NoGuessGenerator(config, 1, 0);
+        int rejected = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            boolean accepted = generator.isSolvableWithoutGuessing(seed);
+            if (impatient.isSolvableWithoutGuessing(seed)) {
+                assertTrue("seed " + seed, accepted);
+            } else if (accepted) {
+                rejected++;
+            }
+        }
+        assertTrue(rejected > 0);
+    }
+
+    @Test
+    public void poolIsRefilledInTheBackground() throws InterruptedException
+    {
+        GameConfig config = GameConfig.of(GameMode.EASY);
+        BoardPool pool = new BoardPool(2, 2);
+        try {
+            pool.refill(config);
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (pool.size(config) < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, pool.size(config));
+
+            Game game = pool.poll(config);
+            assertNotNull(game);
+            assertEquals(0, game.getRevealedCount());
+            game.revealCell(NoGuessGenerator.getOpening(game));
+            assertFalse(game.GameOver());
+            assertTrue(game.getRevealedCount() > 0);
+            assertNull(pool.poll(GameConfig.custom(100, 100, 1000)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.minesweeper.Player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.minesweeper.model.Cell;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+import com.minesweeper.model.GameMode;
+
+/**
+ * Unit tests for the Player class.
+ */
+public class PlayerTest
+{
+    /**
+     * Reveals the center cell, which places the mines away from it, so that the player starts from an opening.
+     */
+    private static void open(Game game)
+    {
+        game.revealCell(game.getCell(game.getRows() / 2, game.getColumns() / 2));
+    }
+
+    @Test
+    public void onlyFlagsMines()
+    {
+        for (long seed = 0; seed < 40; seed++) {
+            Game game = new Game(GameConfig.of(GameMode.HARD).withSeed(seed));
+            open(game);
+            new Player(game).play();
+            assertTrue(game.GameOver() || game.isWon());
+            for (int row = 0; row < game.getRows(); row++) {
+                for (int column = 0; column < game.getColumns(); column++) {
+                    Cell cell = game.getCell(row, column);
+                    assertTrue("wrong flag in game with seed " + seed, !cell.isFlagged() || cell.isMine());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void winsMostBeginnerGames()
+    {
+        int won = 0;
+        for (long seed = 0; seed < 100; seed++) {
+            Game game = new Game(GameConfig.of(GameMode.EASY).withSeed(seed));
+            open(game);
+            new Player(game).play();
+            if (game.isWon()) {
+                won++;
+            }
+        }
+        assertTrue("won only " + won + " of 100 games", won >= 80);
+    }
+
+    @Test
+    public void listenerSeesEveryChangedCell()
+    {
+        Game game = new Game(GameConfig.of(GameMode.MEDIUM).withSeed(3L));
+        open(game);
+        int openedCells = game.getRevealedCount();
+        boolean[] changed = new boolean[game.getRows() * game.getColumns()];
+        Player player = new Player(game);
+        player.setMoveListener(index -> changed[index] = true);
+        player.play();
+
+        int count = 0;
+        for (boolean cellChanged : changed) {
+            if (cellChanged) {
+                count++;
+            }
+        }
+        assertEquals(game.getRevealedCount() - openedCells + game.getFlaggedCount(), count);
+        assertTrue(player.getMoveCount() > 0);
+    }
+
+    @Test
+    public void parallelModeMakesTheSameMovesAsSequentialMode()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed = 0; seed < 10; seed++) {
+                assertEquals("moves of game with seed " + seed, playedCells(seed, null), playedCells(seed, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the expert board with the given seed and returns the changed cells in the order of the moves.
+     */
+    private static List<Integer> playedCells(long seed, ForkJoinPool pool)
+    {
+        Game game = new Game(GameConfig.of(GameMode.HARD).withSeed(seed));
+        open(game);
+        List<Integer> cells = new ArrayList<>();
+        Player player = new Player(game, pool);
+        player.setMoveListener(cells::add);
+        player.play();
+        return cells;
+    }
+}
@@ -0,0 +1,101 @@
+package com.minesweeper.Player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+
+/**
+ * Unit tests for the RuleEngine class, on small hand-built boards.
+ */
+public class RuleEngineTest
+{
+    /**
+     * Records the moves of the rules without making them, so that the recorded cells are exactly the
+     * deductions from the initial board.
+     */
+    private static final class RecordingSink implements RuleEngine.MoveSink
+    {
+        private final Set<Integer> safe = new TreeSet<>();
+        private final Set<Integer> mines = new TreeSet<>();
+
+        @Override
+        public boolean move(int index, boolean mine)
+        {
+            if (safe.contains(index) || mines.contains(index)) {
+                return false;
+            }
+            (mine ? mines : safe).add(index);
+            return true;
+        }
+    }
+
+    /**
+     * Builds a board with the specified mines and revealed cells and runs the rules on every revealed number.
+     */
+    private static RecordingSink run(int rows, int columns, int[] mines, int[] revealed, boolean expectProgress)
+    {
+        Game game = new Game(GameConfig.custom(rows, columns, mines.length, 1L));
+        for (int mine : mines) {
+            game.getCell(mine / columns, mine % columns).setMine();
+        }
+        game.setCounts();
+        for (int index : revealed) {
+            game.getCell(index / columns, index % columns).setRevealed();
+        }
+        Frontier frontier = new Frontier(game);
+        RecordingSink sink = new RecordingSink();
+        RuleEngine rules = new RuleEngine(game, frontier, sink);
+        for (int index : revealed) {
+            rules.cellChanged(index);
+        }
+        assertEquals(expectProgress, rules.run());
+        return sink;
+    }
+
+    private static Set<Integer> setOf(Integer... indices)
+    {
+        return new TreeSet<>(Arrays.asList(indices));
+    }
+
+    @Test
+    public void subsetRuleMarksTheOtherCellsSafe()
+    {
+        // 2x4 board, mines at (0,0) and (0,3); (1,0) and (1,1) are revealed 1s.
+        // The unknown cells of (1,0) are a subset of those of (1,1), so (0,2) and (1,2) are safe.
+        RecordingSink sink = run(2, 4, new int[] {0, 3}, new int[] {4, 5}, true);
+        assertEquals(setOf(2, 6), sink.safe);
+        assertTrue(sink.mines.isEmpty());
+    }
+
+    @Test
+    public void pairRuleFindsMinesAndSafeCells()
+    {
+        // 2x4 board, mines at (0,1), (0,3) and (1,3); (1,1) is a revealed 1 and (1,2) a revealed 3.
+        // The 3 needs both of its own cells plus one shared cell, which is the only mine of the 1.
+        RecordingSink sink = run(2, 4, new int[] {1, 3, 7}, new int[] {5, 6}, true);
+        assertEquals(setOf(3, 7), sink.mines);
+        assertEquals(setOf(0, 4), sink.safe);
+
+        // The mirrored board, where the other number of the pair is examined first
+        sink = run(2, 4, new int[] {0, 2, 4}, new int[] {5, 6}, true);
+        assertEquals(setOf(0, 4), sink.mines);
+        assertEquals(setOf(3, 7), sink.safe);
+    }
+
+    @Test
+    public void stalledRulesReportNoProgress()
+    {
+        // 1x3 board with a mine at one end and the revealed 1 in the middle: either end may hold the mine
+        RecordingSink sink = run(1, 3, new int[] {0}, new int[] {1}, false);
+        assertTrue(sink.safe.isEmpty());
+        assertTrue(sink.mines.isEmpty());
+    }
+}
@@ -0,0 +1,35 @@
+package com.minesweeper.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the AsyncRingBufferSink class.
+ */
+public class AsyncRingBufferSinkTest
+{
+    @Test
+    public void deliversEveryMessageOrCountsItAsDropped()
+    {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        AsyncRingBufferSink sink = new AsyncRingBufferSink(16, (level, source, message) -> received.add(message));
+        for (int i = 0; i < 1000; i++) {
+            sink.log(Level.TRACE, "test", "message " + i);
+        }
+        sink.close();
+        assertEquals(1000, received.size() + sink.getDropped());
+    }
+
+    @Test
+    public void diagnosticsAreOffByDefault()
+    {
+        assertEquals(Level.OFF, Diagnostics.THRESHOLD);
+        assertFalse(Diagnostics.isEnabled(Level.WARN));
+    }
+}
@@ -0,0 +1,107 @@
+package com.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the GameFile class.
+ */
+public class GameFileTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void savedGameLoadsWithTheSameState() throws IOException
+    {
+        Game game = new Game(GameConfig.custom(37, 53, 300, 9L));
+        for (int index = 0; index < 37 * 53; index += 7) {
+            Cell cell = game.getCell(index / 53, index % 53);
+            if (cell.isMine()) {
+                cell.flag();
+            } else if (index % 3 == 0) {
+                game.revealCell(cell);
+            }
+        }
+        File file = folder.newFile("game.msw");
+        GameFile.save(game, file.toPath());
+        Game loaded = GameFile.load(file.toPath());
+
+        assertEquals(game.getConfig().toString(), loaded.getConfig().toString());
+        assertEquals(game.getSeed(), loaded.getSeed());
+        assertEquals(game.getRevealedCount(), loaded.getRevealedCount());
+        assertEquals(game.getCorrectlyFlaggedCount(), loaded.getCorrectlyFlaggedCount());
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                Cell expected = game.getCell(row, column);
+                Cell actual = loaded.getCell(row, column);
+                assertEquals(expected.isMine(), actual.isMine());
+                assertEquals(expected.isRevealed(), actual.isRevealed());
+                assertEquals(expected.isFlagged(), actual.isFlagged());
+                assertEquals(expected.getCount(), actual.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void gameSavedBeforeTheFirstRevealKeepsItsSafeOpening() throws IOException
+    {
+        Game game = new Game(GameConfig.custom(20, 30, 200, 5L));
+        File file = folder.newFile("new.msw");
+        GameFile.save(game, file.toPath());
+        Game loaded = GameFile.load(file.toPath());
+        assertFalse(loaded.areMinesPlaced());
+
+        game.revealCell(game.getCell(10, 15));
+        loaded.revealCell(loaded.getCell(10, 15));
+        assertFalse(loaded.GameOver());
+        for (int index = 0; index < 20 * 30; index++) {
+            assertEquals(game.getCell(index / 30, index % 30).isMine(), loaded.getCell(index / 30, index % 30).isMine());
+        }
+    }
+
+    @Test
+    public void rejectsFilesWithoutTheMagicNumber() throws IOException
+    {
+        File file = folder.newFile("other.bin");
+        Files.write(file.toPath(), new byte[64]);
+        try {
+            GameFile.load(file.toPath());
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Not a minesweeper game file"));
+            return;
+        }
+        throw new AssertionError("loaded a file without the magic number");
+    }
+
+    @Test
+    public void rejectsAModeWithTheWrongNumberOfMines() throws IOException
+    {
+        File file = folder.newFile("expert.msw");
+        Game game = new Game(GameConfig.of(GameMode.HARD).withSeed(4L));
+        game.ensureMines();
+        GameFile.save(game, file.toPath());
+        // The number of mines is the little-endian int at offset 16 of the header
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(16, 10);
+        Files.write(file.toPath(), bytes);
+        try {
+            GameFile.load(file.toPath());
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Invalid game file header"));
+            return;
+        }
+        throw new AssertionError("loaded an expert game with 10 mines");
+    }
+}
@@ -0,0 +1,247 @@
+package com.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the Game class.
+ */
+public class GameTest
+{
+    /**
+     * Counts the mines on the board of the given game.
+     */
+    private static int countMines(Game game)
+    {
+        int mines = 0;
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                if (game.getCell(row, column).isMine()) {
+                    mines++;
+                }
+            }
+        }
+        return mines;
+    }
+
+    @Test
+    public void placesConfiguredNumberOfMines()
+    {
+        Game game = new Game(GameMode.HARD);
+        game.ensureMines();
+        assertEquals(16, game.getRows());
+        assertEquals(30, game.getColumns());
+        assertEquals(99, countMines(game));
+    }
+
+    @Test
+    public void countsMatchNeighboringMines()
+    {
+        Game game = new Game(GameMode.MEDIUM);
+        game.ensureMines();
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                Cell cell = game.getCell(row, column);
+                if (cell.isMine()) {
+                    continue;
+                }
+                int expected = 0;
+                for (Cell neighbor : game.getNeighbors(cell)) {
+                    if (neighbor.isMine()) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, cell.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void cellViewsShareState()
+    {
+        Game game = new Game(GameMode.EASY);
+        Cell cell = game.getCell(3, 4);
+        cell.flag();
+        assertTrue(game.getCell(3, 4).isFlagged());
+        assertTrue(game.getGrid()[3][4].isFlagged());
+        assertEquals(cell, game.getCell(3, 4));
+        game.getCell(3, 4).unflag();
+        assertFalse(cell.isFlagged());
+    }
+
+    @Test
+    public void customConfigIsReproducibleFromSeed()
+    {
+        GameConfig config = GameConfig.custom(40, 70, 500, 42L);
+        Game first = new Game(config);
+        Game second = new Game(config);
+        first.ensureMines();
+        second.ensureMines();
+        assertEquals(500, countMines(first));
+        for (int row = 0; row < config.getRows(); row++) {
+            for (int column = 0; column < config.getColumns(); column++) {
+                assertEquals(first.getCell(row, column).isMine(), second.getCell(row, column).isMine());
+            }
+        }
+    }
+
+    @Test
+    public void firstRevealOpensAnArea()
+    {
+        for (long seed = 0; seed < 50; seed++) {
+            GameConfig config = GameConfig.of(GameMode.HARD).withSeed(seed);
+            Game game = new Game(config);
+            assertFalse(game.areMinesPlaced());
+            int row = (int) (seed % 16);
+            int column = (int) (seed * 7 % 30);
+            game.revealCell(game.getCell(row, column));
+            assertFalse(game.GameOver());
+            assertEquals(0, game.getAdjacentMines(row, column));
+            assertEquals(99, countMines(game));
+
+            // The same seed and first move place the same mines
+            Game replay = new Game(config);
+            replay.revealCell(replay.getCell(row, column));
+            for (int index = 0; index < 16 * 30; index++) {
+                assertEquals(game.getCell(index / 30, index % 30).isMine(),
+                        replay.getCell(index / 30, index % 30).isMine());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMoreMinesThanCells()
+    {
+        GameConfig.custom(5, 5, 26);
+    }
+
+    @Test
+    public void unseededGameIsReproducibleFromItsSeed()
+    {
+        Game game = new Game(GameMode.HARD);
+        Game replay = new Game(game.getConfig().withSeed(game.getSeed()));
+        game.ensureMines();
+        replay.ensureMines();
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                assertEquals(game.getCell(row, column).isMine(), replay.getCell(row, column).isMine());
+            }
+        }
+    }
+
+    @Test
+    public void fillsBoardAtFullDensity()
+    {
+        Game game = new Game(GameConfig.custom(300, 300, 300 * 300));
+        game.ensureMines();
+        assertEquals(300 * 300, countMines(game));
+    }
+
+    @Test
+    public void setCountsMatchesIncrementalCounts()
+    {
+        Game game = new Game(GameConfig.custom(37, 53, 600, 7L));
+        game.ensureMines();
+        int[] expected = new int[game.getRows() * game.getColumns()];
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                expected[row * game.getColumns() + column] = game.getAdjacentMines(row, column);
+            }
+        }
+        game.setCounts();
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                assertEquals(expected[row * game.getColumns() + column], game.getAdjacentMines(row, column));
+            }
+        }
+    }
+
+    @Test
+    public void revealOnEmptyBoardRevealsEveryCellOnce()
+    {
+        Game game = new Game(GameConfig.custom(120, 80, 0));
+        game.revealCell(game.getCell(60, 40));
+        assertEquals(120 * 80, game.getNewlyRevealedCount());
+        boolean[] seen = new boolean[120 * 80];
+        for (Cell cell : game.getNewlyRevealedCells()) {
+            assertFalse(seen[cell.getIndex()]);
+            seen[cell.getIndex()] = true;
+        }
+        assertTrue(game.isWon());
+    }
+
+    @Test
+    public void newlyRevealedCellsAreExactlyTheCellsThatChanged()
+    {
+        Game game = new Game(GameConfig.custom(60, 60, 300, 11L));
+        for (int row = 0; row < game.getRows(); row++) {
+            for (int column = 0; column < game.getColumns(); column++) {
+                Cell cell = game.getCell(row, column);
+                if (cell.isMine() || cell.isRevealed()) {
+                    continue;
+                }
+                boolean[] before = new boolean[60 * 60];
+                for (int i = 0; i < before.length; i++) {
+                    before[i] = game.getCell(i / 60, i % 60).isRevealed();
+                }
+                game.revealCell(cell);
+                int changed = 0;
+                for (int i = 0; i < before.length; i++) {
+                    if (!before[i] && game.getCell(i / 60, i % 60).isRevealed()) {
+                        changed++;
+                    }
+                }
+                assertEquals(changed, game.getNewlyRevealedCount());
+                for (Cell revealed : game.getNewlyRevealedCells()) {
+                    assertFalse(before[revealed.getIndex()]);
+                }
+            }
+        }
+        assertTrue(game.isWon());
+    }
+
+    @Test
+    public void countersFollowEveryStateChange()
+    {
+        Game game = new Game(GameConfig.custom(20, 20, 60, 5L));
+        game.ensureMines();
+        int safeCells = 20 * 20 - 60;
+        Cell mine = null;
+        Cell safe = null;
+        for (int index = 0; index < 400 && (mine == null || safe == null); index++) {
+            Cell cell = game.getCell(index / 20, index % 20);
+            if (cell.isMine()) {
+                mine = cell;
+            } else if (cell.getCount() > 0) {
+                safe = cell;
+            }
+        }
+
+        mine.flag();
+        mine.flag();
+        safe.flag();
+        assertEquals(2, game.getFlaggedCount());
+        assertEquals(1, game.getCorrectlyFlaggedCount());
+        safe.unflag();
+        assertEquals(1, game.getFlaggedCount());
+
+        // Revealing a mine directly does not count towards the win
+        mine.setRevealed();
+        safe.setRevealed();
+        safe.setRevealed();
+        assertEquals(1, game.getRevealedCount());
+
+        for (int index = 0; index < 400; index++) {
+            Cell cell = game.getCell(index / 20, index % 20);
+            if (!cell.isMine()) {
+                game.revealCell(cell);
+            }
+            assertEquals(game.getRevealedCount() == safeCells, game.isWon());
+        }
+        assertEquals(safeCells, game.getRevealedCount());
+        assertEquals(1.0, game.getProgress(), 0.0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.minesweeper.model;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the Neighborhood class.
+ */
+public class NeighborhoodTest
+{
+    /**
+     * Returns the neighbors of the cell at the specified index.
+     */
+    private static int[] neighbors(Neighborhood neighborhood, int index)
+    {
+        int[] out = new int[Neighborhood.MAX_NEIGHBORS];
+        return Arrays.copyOf(out, neighborhood.neighbors(index, out));
+    }
+
+    @Test
+    public void listsTheNeighborsOfCornersEdgesAndInteriorCells()
+    {
+        // 3x4 grid:  0  1  2  3
+        //            4  5  6  7
+        //            8  9 10 11
+        Neighborhood neighborhood = new Neighborhood(3, 4);
+        assertArrayEquals(new int[] {1, 4, 5}, neighbors(neighborhood, 0));
+        assertArrayEquals(new int[] {2, 6, 7}, neighbors(neighborhood, 3));
+        assertArrayEquals(new int[] {4, 5, 9}, neighbors(neighborhood, 8));
+        assertArrayEquals(new int[] {6, 7, 10}, neighbors(neighborhood, 11));
+        assertArrayEquals(new int[] {0, 2, 4, 5, 6}, neighbors(neighborhood, 1));
+        assertArrayEquals(new int[] {0, 1, 5, 8, 9}, neighbors(neighborhood, 4));
+        assertArrayEquals(new int[] {2, 3, 6, 10, 11}, neighbors(neighborhood, 7));
+        assertArrayEquals(new int[] {5, 6, 7, 9, 11}, neighbors(neighborhood, 10));
+        assertArrayEquals(new int[] {0, 1, 2, 4, 6, 8, 9, 10}, neighbors(neighborhood, 5));
+    }
+
+    @Test
+    public void handlesSingleRowAndSingleColumnGrids()
+    {
+        Neighborhood row = new Neighborhood(1, 5);
+        assertArrayEquals(new int[] {1}, neighbors(row, 0));
+        assertArrayEquals(new int[] {1, 3}, neighbors(row, 2));
+        assertArrayEquals(new int[] {3}, neighbors(row, 4));
+
+        Neighborhood column = new Neighborhood(5, 1);
+        assertArrayEquals(new int[] {1}, neighbors(column, 0));
+        assertArrayEquals(new int[] {1, 3}, neighbors(column, 2));
+        assertArrayEquals(new int[] {3}, neighbors(column, 4));
+
+        assertArrayEquals(new int[0], neighbors(new Neighborhood(1, 1), 0));
+    }
+
+    @Test
+    public void neighborsComeInAscendingOrderOnEveryCell()
+    {
+        int rows = 7;
+        int columns = 9;
+        Neighborhood neighborhood = new Neighborhood(rows, columns);
+        for (int index = 0; index < rows * columns; index++) {
+            int row = index / columns;
+            int column = index % columns;
+            int[] expected = new int[Neighborhood.MAX_NEIGHBORS];
+            int count = 0;
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = column - 1; c <= column + 1; c++) {
+                    if ((r != row || c != column) && r >= 0 && r < rows && c >= 0 && c < columns) {
+                        expected[count++] = r * columns + c;
+                    }
+                }
+            }
+            assertArrayEquals("neighbors of " + index, Arrays.copyOf(expected, count), neighbors(neighborhood, index));
+        }
+    }
+}
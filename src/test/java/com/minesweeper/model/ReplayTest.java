@@ -0,0 +1,86 @@
+package com.minesweeper.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the MoveJournal and Replay classes.
+ */
+public class ReplayTest
+{
+    @Test
+    public void replayRebuildsEveryRecordedState() throws IOException
+    {
+        Game game = new Game(GameConfig.custom(30, 40, 120, 21L));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MoveJournal journal = new MoveJournal(bytes, game);
+        game.setJournal(journal);
+
+        // Make random moves on safe cells and flags on any cell, remembering the totals after each move
+        SplittableRandom random = new SplittableRandom(4);
+        int[] revealed = new int[400];
+        int[] flagged = new int[400];
+        int moves = 0;
+        while (moves < revealed.length && !game.isWon()) {
+            int index = random.nextInt(30 * 40);
+            Cell cell = game.getCell(index / 40, index % 40);
+            int choice = random.nextInt(3);
+            if (choice == 0 && !cell.isMine() && !cell.isRevealed() && !cell.isFlagged()) {
+                game.revealCell(cell);
+            } else if (choice == 1 && !cell.isRevealed() && !cell.isFlagged()) {
+                game.flagCell(cell);
+            } else if (choice == 2 && cell.isFlagged()) {
+                game.unflagCell(cell);
+            } else {
+                continue;
+            }
+            revealed[moves] = game.getRevealedCount();
+            flagged[moves] = game.getFlaggedCount();
+            moves++;
+        }
+        journal.close();
+        assertEquals(moves, journal.getMoveCount());
+
+        Replay replay = Replay.read(new ByteArrayInputStream(bytes.toByteArray()), 7);
+        assertEquals(moves, replay.size());
+        assertEquals(game.getSeed(), replay.getConfig().getSeed().getAsLong());
+        // Seek backwards and forwards so that both new and existing snapshots are used
+        for (int move = moves; move >= 1; move -= 5) {
+            Game replayed = replay.gameAt(move);
+            assertEquals(revealed[move - 1], replayed.getRevealedCount());
+            assertEquals(flagged[move - 1], replayed.getFlaggedCount());
+        }
+        Game last = replay.gameAt(moves);
+        for (int row = 0; row < 30; row++) {
+            for (int column = 0; column < 40; column++) {
+                assertEquals(game.getCell(row, column).isRevealed(), last.getCell(row, column).isRevealed());
+                assertEquals(game.getCell(row, column).isFlagged(), last.getCell(row, column).isFlagged());
+            }
+        }
+        assertEquals(0, replay.gameAt(0).getRevealedCount());
+    }
+
+    @Test
+    public void snapshotIntervalIsRaisedToFitLargeBoards() throws IOException
+    {
+        Game game = new Game(GameConfig.custom(4000, 4000, 10, 1L));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MoveJournal journal = new MoveJournal(bytes, game);
+        game.setJournal(journal);
+        for (int move = 0; move < 300; move++) {
+            game.flagCell(game.getCell(move, move));
+        }
+        journal.close();
+
+        // A snapshot of 16 MB leaves room for 15 snapshots besides the initial board
+        Replay replay = Replay.read(new ByteArrayInputStream(bytes.toByteArray()), 7);
+        assertEquals(20, replay.getSnapshotInterval());
+        assertEquals(300, replay.gameAt(300).getFlaggedCount());
+    }
+}
@@ -0,0 +1,44 @@
+package com.minesweeper.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.minesweeper.model.Cell;
+import com.minesweeper.model.Game;
+import com.minesweeper.model.GameConfig;
+
+/**
+ * Unit tests for the RevealBatch class.
+ */
+public class RevealBatchTest
+{
+    @Test
+    public void recordsTheStateOfACellWhenItIsAdded()
+    {
+        // 1x3 board with a mine on the left: the middle cell is a 1
+        Game game = new Game(GameConfig.custom(1, 3, 1, 1L));
+        game.getCell(0, 0).setMine();
+        game.setCounts();
+        Cell middle = game.getCell(0, 1);
+        middle.setRevealed();
+
+        RevealBatch batch = new RevealBatch(game, 1);
+        batch.add(1);
+        batch.add(2);
+        game.flagCell(game.getCell(0, 2));
+
+        assertEquals(2, batch.size());
+        assertEquals(1, batch.getIndex(0));
+        assertTrue(batch.isRevealed(0));
+        assertEquals(1, batch.getAdjacentMines(0));
+        // The flag was placed after the cell was added, so the batch does not show it
+        assertFalse(batch.isRevealed(1));
+        assertFalse(batch.isFlagged(1));
+        assertEquals(0, batch.getMinRow());
+        assertEquals(1, batch.getMinColumn());
+        assertEquals(2, batch.getMaxColumn());
+    }
+}